@@ -1,6 +1,12 @@
 package com.example.intent.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Intent App.
@@ -13,12 +19,66 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Ingestion ingestion = new Ingestion();
+
+    private final Partitioning partitioning = new Partitioning();
+
+    private final Rollup rollup = new Rollup();
+
+    private final Cache cache = new Cache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final RefreshToken refreshToken = new RefreshToken();
+
+    private final Async async = new Async();
+
+    private final Mail mail = new Mail();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Ingestion getIngestion() {
+        return ingestion;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public Rollup getRollup() {
+        return rollup;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public RefreshToken getRefreshToken() {
+        return refreshToken;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +93,857 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Ingestion {
+
+        private final Bulk bulk = new Bulk();
+
+        private final Buffer buffer = new Buffer();
+
+        public Bulk getBulk() {
+            return bulk;
+        }
+
+        public Buffer getBuffer() {
+            return buffer;
+        }
+
+        public static class Bulk {
+
+            /**
+             * Maximum number of intents accepted by a single bulk request.
+             */
+            private int maxItems = 5000;
+
+            /**
+             * Number of intents written per transaction; each chunk is flushed as JDBC batches of
+             * {@code hibernate.jdbc.batch_size} statements.
+             */
+            private int chunkSize = 500;
+
+            public int getMaxItems() {
+                return maxItems;
+            }
+
+            public void setMaxItems(int maxItems) {
+                this.maxItems = maxItems;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+        }
+
+        public static class Buffer {
+
+            /**
+             * Whether created intents are queued and written by group commits, instead of each request
+             * committing its own intent.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Maximum number of intents waiting in the buffer.
+             */
+            private int capacity = 10000;
+
+            /**
+             * Maximum number of intents written by a single group commit.
+             */
+            private int maxBatchSize = 500;
+
+            /**
+             * Maximum time the first intent of a batch waits for the batch to fill up before it is flushed.
+             */
+            private Duration maxDelay = Duration.ofMillis(50);
+
+            /**
+             * How long a request waits for room in a full buffer before being refused.
+             */
+            private Duration offerTimeout = Duration.ofMillis(500);
+
+            /**
+             * How long a request waits for the commit of its batch.
+             */
+            private Duration ackTimeout = Duration.ofSeconds(30);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public int getMaxBatchSize() {
+                return maxBatchSize;
+            }
+
+            public void setMaxBatchSize(int maxBatchSize) {
+                this.maxBatchSize = maxBatchSize;
+            }
+
+            public Duration getMaxDelay() {
+                return maxDelay;
+            }
+
+            public void setMaxDelay(Duration maxDelay) {
+                this.maxDelay = maxDelay;
+            }
+
+            public Duration getOfferTimeout() {
+                return offerTimeout;
+            }
+
+            public void setOfferTimeout(Duration offerTimeout) {
+                this.offerTimeout = offerTimeout;
+            }
+
+            public Duration getAckTimeout() {
+                return ackTimeout;
+            }
+
+            public void setAckTimeout(Duration ackTimeout) {
+                this.ackTimeout = ackTimeout;
+            }
+        }
+    }
+
+    public static class Partitioning {
+
+        /**
+         * Whether the monthly partitions of the intent table are maintained; only supported on PostgreSQL.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of monthly partitions created ahead of the current month.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * Number of past months kept in the intent table, the current one excluded; older partitions are
+         * detached. {@code 0} keeps all of them.
+         */
+        private int retentionMonths = 24;
+
+        /**
+         * Schema the detached partitions are moved to, or empty to leave them next to the intent table.
+         */
+        private String archiveSchema = "intent_archive";
+
+        /**
+         * When the partitions are maintained.
+         */
+        private String cron = "0 30 1 * * ?";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public String getArchiveSchema() {
+            return archiveSchema;
+        }
+
+        public void setArchiveSchema(String archiveSchema) {
+            this.archiveSchema = archiveSchema;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class Rollup {
+
+        /**
+         * Delay between two folds of the commission deltas into the rollups, which the rollups lag behind by.
+         */
+        private Duration foldInterval = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of deltas folded per transaction.
+         */
+        private int foldBatchSize = 10000;
+
+        public Duration getFoldInterval() {
+            return foldInterval;
+        }
+
+        public void setFoldInterval(Duration foldInterval) {
+            this.foldInterval = foldInterval;
+        }
+
+        public int getFoldBatchSize() {
+            return foldBatchSize;
+        }
+
+        public void setFoldBatchSize(int foldBatchSize) {
+            this.foldBatchSize = foldBatchSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Settings of each cache region, by region name; a region without settings, or a setting left empty,
+         * falls back to {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        /**
+         * Directory of the persistent disk tier; the regions can only have a disk tier when it is set.
+         */
+        private String diskDirectory;
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public String getDiskDirectory() {
+            return diskDirectory;
+        }
+
+        public void setDiskDirectory(String diskDirectory) {
+            this.diskDirectory = diskDirectory;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class WarmUp {
+
+            /**
+             * Whether the regions are preloaded at startup; the application is not ready before they are.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Names of the entity regions to preload.
+             */
+            private List<String> regions = new ArrayList<>();
+
+            /**
+             * Number of entities loaded per task on the async executor.
+             */
+            private int chunkSize = 500;
+
+            /**
+             * How long the application waits for the preloading before reporting ready anyway.
+             */
+            private Duration timeout = Duration.ofMinutes(2);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public List<String> getRegions() {
+                return regions;
+            }
+
+            public void setRegions(List<String> regions) {
+                this.regions = regions;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * Whether the cache evictions are published to, and received from, the other nodes.
+             */
+            private boolean enabled = false;
+
+            /**
+             * PostgreSQL notification channel shared by the nodes.
+             */
+            private String channel = "cache_invalidation";
+
+            /**
+             * How long the listener waits for notifications before checking whether it is stopping.
+             */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * How long the listener waits before connecting again after losing its connection.
+             */
+            private Duration reconnectDelay = Duration.ofSeconds(5);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public Duration getReconnectDelay() {
+                return reconnectDelay;
+            }
+
+            public void setReconnectDelay(Duration reconnectDelay) {
+                this.reconnectDelay = reconnectDelay;
+            }
+        }
+
+        public static class Region {
+
+            /**
+             * Maximum number of entries kept on heap; exclusive with {@code max-bytes}.
+             */
+            private Long maxEntries;
+
+            /**
+             * Maximum size of the entries kept on heap; exclusive with {@code max-entries}.
+             */
+            private DataSize maxBytes;
+
+            /**
+             * Size of the off-heap tier, below the heap one, or empty for none.
+             */
+            private DataSize offHeap;
+
+            /**
+             * Size of the persistent disk tier, below the other ones, or empty for none; its entries survive a
+             * restart.
+             */
+            private DataSize disk;
+
+            /**
+             * How long an entry is kept after it was written; exclusive with {@code time-to-idle}.
+             */
+            private Duration timeToLive;
+
+            /**
+             * How long an entry is kept after it was last read or written; exclusive with {@code time-to-live}.
+             */
+            private Duration timeToIdle;
+
+            /**
+             * Class of the {@link org.ehcache.config.EvictionAdvisor} telling which entries should be kept when
+             * the region is full.
+             */
+            private Class<?> evictionAdvisor;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getMaxBytes() {
+                return maxBytes;
+            }
+
+            public void setMaxBytes(DataSize maxBytes) {
+                this.maxBytes = maxBytes;
+            }
+
+            public DataSize getOffHeap() {
+                return offHeap;
+            }
+
+            public void setOffHeap(DataSize offHeap) {
+                this.offHeap = offHeap;
+            }
+
+            public DataSize getDisk() {
+                return disk;
+            }
+
+            public void setDisk(DataSize disk) {
+                this.disk = disk;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+
+            public Class<?> getEvictionAdvisor() {
+                return evictionAdvisor;
+            }
+
+            public void setEvictionAdvisor(Class<?> evictionAdvisor) {
+                this.evictionAdvisor = evictionAdvisor;
+            }
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * BCrypt cost of the new hashes; the stored hashes of a lower cost are upgraded on login.
+         */
+        private int strength = 10;
+
+        /**
+         * Number of threads hashing passwords: the most CPUs the logins can take from the rest of the traffic.
+         */
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Number of hashings waiting for a thread; the ones beyond are refused with a 503.
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * How long a request waits for its hashing before being refused with a 503.
+         */
+        private Duration waitTimeout = Duration.ofSeconds(5);
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+    }
+
+    public static class RateLimit {
+
+        /**
+         * Whether the requests to the authentication endpoints are limited.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of most recently seen clients and logins whose buckets are kept; the older ones start afresh.
+         */
+        private int maxKeys = 100_000;
+
+        /**
+         * Buckets of a client address, shared by the authentication endpoints.
+         */
+        private final Bucket ip = new Bucket(20, Duration.ofSeconds(3));
+
+        /**
+         * Buckets of a login or email, whichever address the requests come from.
+         */
+        private final Bucket login = new Bucket(5, Duration.ofSeconds(12));
+
+        /**
+         * Addresses or CIDR ranges of the proxies in front of the application: the client address is the last
+         * address of {@code X-Forwarded-For} which is not one of them. When empty, the address of the peer is used.
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+
+        public Bucket getIp() {
+            return ip;
+        }
+
+        public Bucket getLogin() {
+            return login;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public static class Bucket {
+
+            /**
+             * Number of requests allowed in a burst.
+             */
+            private int capacity;
+
+            /**
+             * Time after which one more request is allowed.
+             */
+            private Duration refillPeriod;
+
+            public Bucket(int capacity, Duration refillPeriod) {
+                this.capacity = capacity;
+                this.refillPeriod = refillPeriod;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public Duration getRefillPeriod() {
+                return refillPeriod;
+            }
+
+            public void setRefillPeriod(Duration refillPeriod) {
+                this.refillPeriod = refillPeriod;
+            }
+        }
+    }
+
+    public static class RefreshToken {
+
+        /**
+         * How long after the login its refresh tokens are accepted: rotating a token does not extend it.
+         */
+        private Duration validity = Duration.ofDays(30);
+
+        /**
+         * Validity of the access tokens of the clients given a refresh token; the other clients keep the validity of
+         * {@code jhipster.security.authentication.jwt}.
+         */
+        private Duration accessTokenValidity = Duration.ofMinutes(15);
+
+        public Duration getValidity() {
+            return validity;
+        }
+
+        public void setValidity(Duration validity) {
+            this.validity = validity;
+        }
+
+        public Duration getAccessTokenValidity() {
+            return accessTokenValidity;
+        }
+
+        public void setAccessTokenValidity(Duration accessTokenValidity) {
+            this.accessTokenValidity = accessTokenValidity;
+        }
+    }
+
+    public static class Async {
+
+        /**
+         * Executor of the {@code @Async} methods and background tasks not given an executor of their own.
+         */
+        private final Pool task = new Pool("intent-app-task-", 2, 50, 10_000, Rejection.CALLER_RUNS);
+
+        /**
+         * Executor of the emails, so that a burst of them cannot hold up the other tasks.
+         */
+        private final Pool mail = new Pool("intent-app-mail-", 2, 4, 500, Rejection.BLOCK);
+
+        public Pool getTask() {
+            return task;
+        }
+
+        public Pool getMail() {
+            return mail;
+        }
+
+        public static class Pool {
+
+            private String threadNamePrefix;
+
+            private int coreSize;
+
+            private int maxSize;
+
+            private int queueCapacity;
+
+            /**
+             * What is done with a task once the threads are all busy and the queue is full.
+             */
+            private Rejection rejection;
+
+            /**
+             * How long a task waits for room in the queue, with the {@code block} rejection, before being refused.
+             */
+            private Duration blockTimeout = Duration.ofSeconds(5);
+
+            public Pool(String threadNamePrefix, int coreSize, int maxSize, int queueCapacity, Rejection rejection) {
+                this.threadNamePrefix = threadNamePrefix;
+                this.coreSize = coreSize;
+                this.maxSize = maxSize;
+                this.queueCapacity = queueCapacity;
+                this.rejection = rejection;
+            }
+
+            public String getThreadNamePrefix() {
+                return threadNamePrefix;
+            }
+
+            public void setThreadNamePrefix(String threadNamePrefix) {
+                this.threadNamePrefix = threadNamePrefix;
+            }
+
+            public int getCoreSize() {
+                return coreSize;
+            }
+
+            public void setCoreSize(int coreSize) {
+                this.coreSize = coreSize;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Rejection getRejection() {
+                return rejection;
+            }
+
+            public void setRejection(Rejection rejection) {
+                this.rejection = rejection;
+            }
+
+            public Duration getBlockTimeout() {
+                return blockTimeout;
+            }
+
+            public void setBlockTimeout(Duration blockTimeout) {
+                this.blockTimeout = blockTimeout;
+            }
+        }
+
+        public enum Rejection {
+            /**
+             * The submitting thread runs the task itself, which slows the submissions down.
+             */
+            CALLER_RUNS,
+            /**
+             * The oldest task of the queue is dropped for the new one.
+             */
+            DISCARD_OLDEST,
+            /**
+             * The submitting thread waits for room in the queue, up to the block timeout, the task being refused
+             * afterwards.
+             */
+            BLOCK,
+        }
+    }
+
+    public static class Mail {
+
+        private final Outbox outbox = new Outbox();
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public static class Outbox {
+
+            /**
+             * Emails sent over one SMTP connection, in one transaction locking them.
+             */
+            private int batchSize = 50;
+
+            /**
+             * Delay between two runs of the sender, which also runs as soon as an email is committed.
+             */
+            private Duration pollInterval = Duration.ofSeconds(30);
+
+            /**
+             * Attempts to send an email before giving it up.
+             */
+            private int maxAttempts = 8;
+
+            /**
+             * Delay before the second attempt, doubled after each failed attempt up to {@code max-backoff}.
+             */
+            private Duration initialBackoff = Duration.ofMinutes(1);
+
+            private Duration maxBackoff = Duration.ofHours(1);
+
+            /**
+             * How long a claimed batch is left to its sender, before the other senders take it over: longer than
+             * sending a batch takes.
+             */
+            private Duration lease = Duration.ofMinutes(5);
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+
+            public Duration getLease() {
+                return lease;
+            }
+
+            public void setLease(Duration lease) {
+                this.lease = lease;
+            }
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
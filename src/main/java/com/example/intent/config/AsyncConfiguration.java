@@ -1,11 +1,22 @@
 package com.example.intent.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Locale;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
-import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -15,34 +26,98 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
+/**
+ * The executors of the {@code @Async} methods, each configured under {@code application.async}: {@code taskExecutor}
+ * by default, and {@code mailExecutor} for the emails.
+ * <p>
+ * Each executor is measured as the {@code executor.*} meters tagged with its name: threads, queue, time waited and
+ * run by the tasks, and the {@value #SATURATED_METER_NAME} count of the tasks submitted while it was full.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
 @Profile("!testdev & !testprod")
 public class AsyncConfiguration implements AsyncConfigurer {
 
+    public static final String SATURATED_METER_NAME = "executor.saturated";
+
     private static final Logger LOG = LoggerFactory.getLogger(AsyncConfiguration.class);
 
-    private final TaskExecutionProperties taskExecutionProperties;
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
-        this.taskExecutionProperties = taskExecutionProperties;
+    public AsyncConfiguration(ApplicationProperties applicationProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
-        LOG.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
-        executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        return executor("taskExecutor", applicationProperties.getAsync().getTask());
+    }
+
+    @Bean(name = "mailExecutor")
+    public Executor mailExecutor() {
+        return executor("mailExecutor", applicationProperties.getAsync().getMail());
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    private Executor executor(String name, ApplicationProperties.Async.Pool pool) {
+        LOG.debug("Creating Async Task Executor {}", name);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+                ExecutorService executorService = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+                meterRegistry.ifAvailable(registry -> new ExecutorServiceMetrics(executorService, name, Tags.empty()).bindTo(registry));
+                return executorService;
+            }
+        };
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setThreadNamePrefix(pool.getThreadNamePrefix());
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler(name, pool));
+        meterRegistry.ifAvailable(registry -> executor.setTaskDecorator(new TaskTimingDecorator(name, registry)));
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
+    private RejectedExecutionHandler rejectedExecutionHandler(String name, ApplicationProperties.Async.Pool pool) {
+        RejectedExecutionHandler policy =
+            switch (pool.getRejection()) {
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+                case BLOCK -> (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Executor " + name + " is shut down");
+                    }
+                    try {
+                        if (!executor.getQueue().offer(task, pool.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                            throw new RejectedExecutionException("Executor " + name + " is still full after " + pool.getBlockTimeout());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for room in executor " + name, e);
+                    }
+                };
+            };
+        Counter saturated = meterRegistry.getIfAvailable() == null
+            ? null
+            : Counter.builder(SATURATED_METER_NAME)
+                .description("Number of tasks submitted while the executor was full, handled by its rejection policy")
+                .tag("name", name)
+                .tag("policy", pool.getRejection().name().toLowerCase(Locale.ENGLISH).replace('_', '-'))
+                .register(meterRegistry.getIfAvailable());
+        return (task, executor) -> {
+            if (saturated != null) {
+                saturated.increment();
+            }
+            policy.rejectedExecution(task, executor);
+        };
+    }
 }
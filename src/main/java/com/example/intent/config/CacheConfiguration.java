@@ -1,39 +1,71 @@
 package com.example.intent.config;
 
+import java.io.File;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.ehcache.config.EvictionAdvisor;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
 @Configuration
-@EnableCaching
+// Just outside of the transactions, so that @CacheEvict takes effect once the write is committed
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+    private final String diskDirectory;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
+        this.diskDirectory = applicationProperties.getCache().getDiskDirectory();
+    }
+
+    /**
+     * Cache manager with a disk persistence service, replacing the one of Spring Boot when a disk directory is set:
+     * the persistence service can only be given when the cache manager is created.
+     * <p>
+     * The entries of the disk tiers are written to that directory when the cache manager is closed, and read back
+     * when it is created again, so a restarted node starts with warm caches.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.cache", name = "disk-directory")
+    public javax.cache.CacheManager persistentJCacheCacheManager() {
+        javax.cache.CacheManager cm = createPersistentCacheManager(new File(diskDirectory), CacheConfiguration.class.getClassLoader());
+        cacheManagerCustomizer().customize(cm);
+        return cm;
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
+    static javax.cache.CacheManager createPersistentCacheManager(File directory, ClassLoader classLoader) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) javax.cache.Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        return provider.getCacheManager(
+            directory.toURI(),
+            new DefaultConfiguration(classLoader, new DefaultPersistenceConfiguration(directory))
         );
     }
 
@@ -45,28 +77,119 @@ public class CacheConfiguration {
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, com.example.intent.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.example.intent.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.example.intent.domain.User.class.getName());
-            createCache(cm, com.example.intent.domain.Authority.class.getName());
-            createCache(cm, com.example.intent.domain.User.class.getName() + ".authorities");
-            createCache(cm, com.example.intent.domain.Article.class.getName());
-            createCache(cm, com.example.intent.domain.StoreManager.class.getName());
-            createCache(cm, com.example.intent.domain.Store.class.getName());
-            createCache(cm, com.example.intent.domain.Coupon.class.getName());
-            createCache(cm, com.example.intent.domain.RDCheckout.class.getName());
-            createCache(cm, com.example.intent.domain.Intent.class.getName());
+            Set<String> unusedRegions = new HashSet<>(regions.keySet());
+            createCache(cm, com.example.intent.repository.UserRepository.USERS_BY_LOGIN_CACHE, "users-by-login", unusedRegions);
+            createCache(cm, com.example.intent.repository.UserRepository.USERS_BY_EMAIL_CACHE, "users-by-email", unusedRegions);
+            createCache(cm, com.example.intent.repository.UserRepository.UNKNOWN_USERS_CACHE, "unknown-users", unusedRegions);
+            createCache(cm, com.example.intent.service.UserService.ACCOUNTS_CACHE, "accounts", unusedRegions);
+            createCache(cm, com.example.intent.security.CachingJwtDecoder.VERIFIED_TOKENS_CACHE, "verified-tokens", unusedRegions);
+            createCache(cm, com.example.intent.repository.RefreshTokenRepository.REFRESH_TOKENS_CACHE, "refresh-tokens", unusedRegions);
+            createCache(cm, com.example.intent.domain.User.class.getName(), "user", unusedRegions);
+            createCache(cm, com.example.intent.domain.Authority.class.getName(), "authority", unusedRegions);
+            createCache(cm, com.example.intent.domain.User.class.getName() + ".authorities", "user-authorities", unusedRegions);
+            createCache(cm, com.example.intent.domain.Article.class.getName(), "article", unusedRegions);
+            createCache(cm, com.example.intent.domain.StoreManager.class.getName(), "store-manager", unusedRegions);
+            createCache(cm, com.example.intent.domain.Store.class.getName(), "store", unusedRegions);
+            createCache(cm, com.example.intent.domain.Coupon.class.getName(), "coupon", unusedRegions);
+            createCache(cm, com.example.intent.domain.RDCheckout.class.getName(), "rd-checkout", unusedRegions);
+            createCache(cm, com.example.intent.domain.Intent.class.getName(), "intent", unusedRegions);
+            createCache(cm, com.example.intent.repository.ArticleRepository.ALL_ARTICLES_CACHE, "all-articles", unusedRegions);
+            createCache(cm, com.example.intent.repository.StoreRepository.ALL_STORES_CACHE, "all-stores", unusedRegions);
+            createCache(
+                cm,
+                com.example.intent.repository.StoreManagerRepository.ALL_STORE_MANAGERS_CACHE,
+                "all-store-managers",
+                unusedRegions
+            );
+            createCache(cm, com.example.intent.repository.CouponRepository.ALL_COUPONS_CACHE, "all-coupons", unusedRegions);
             // jhipster-needle-ehcache-add-entry
+            if (!unusedRegions.isEmpty()) {
+                throw new IllegalArgumentException("Unknown cache regions in application.cache.regions: " + unusedRegions);
+            }
         };
     }
 
-    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+    private void createCache(javax.cache.CacheManager cm, String cacheName, String regionName, Set<String> unusedRegions) {
+        unusedRegions.remove(regionName);
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(
+                cacheName,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    ehcacheConfiguration(regionName, regions.get(regionName), ehcache, diskDirectory != null)
+                )
+            );
+        }
+        // Hits, misses, puts, removals and evictions, published as the cache.* meters and shown by the caches endpoint
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Build the configuration of a cache region, its settings falling back to the {@code jhipster.cache.ehcache} ones.
+     * <p>
+     * Entries of the off-heap and disk tiers are stored serialized, with the Java serialization of the keys and of
+     * the Hibernate cache entries, which hold the disassembled state of the entities and not the entities themselves.
+     *
+     * @param regionName the name of the region, for error messages.
+     * @param region the settings of the region, or {@code null} if it has none.
+     * @param defaults the settings shared by all the regions.
+     * @param persistence whether the cache manager has a persistence service, which disk tiers require.
+     * @return the Ehcache configuration of the region.
+     */
+    static org.ehcache.config.CacheConfiguration<Object, Object> ehcacheConfiguration(
+        String regionName,
+        ApplicationProperties.Cache.Region region,
+        JHipsterProperties.Cache.Ehcache defaults,
+        boolean persistence
+    ) {
+        if (region == null) {
+            region = new ApplicationProperties.Cache.Region();
+        }
+        if (region.getMaxEntries() != null && region.getMaxBytes() != null) {
+            throw new IllegalArgumentException("Cache region " + regionName + " cannot have both max-entries and max-bytes");
+        }
+        if (region.getTimeToLive() != null && region.getTimeToIdle() != null) {
+            throw new IllegalArgumentException("Cache region " + regionName + " cannot have both time-to-live and time-to-idle");
+        }
+
+        ResourcePoolsBuilder resourcePools = region.getMaxBytes() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(region.getMaxBytes().toBytes(), MemoryUnit.B)
+            : ResourcePoolsBuilder.heap(region.getMaxEntries() != null ? region.getMaxEntries() : defaults.getMaxEntries());
+        if (region.getOffHeap() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeap().toBytes(), MemoryUnit.B);
+        }
+        if (region.getDisk() != null) {
+            if (!persistence) {
+                throw new IllegalArgumentException(
+                    "Cache region " + regionName + " has a disk tier but application.cache.disk-directory is not set"
+                );
+            }
+            resourcePools = resourcePools.disk(region.getDisk().toBytes(), MemoryUnit.B, true);
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        );
+        if (region.getTimeToIdle() != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle()));
+        } else {
+            Duration timeToLive = region.getTimeToLive() != null
+                ? region.getTimeToLive()
+                : Duration.ofSeconds(defaults.getTimeToLiveSeconds());
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        }
+        if (region.getEvictionAdvisor() != null) {
+            @SuppressWarnings("unchecked")
+            EvictionAdvisor<Object, Object> evictionAdvisor = BeanUtils.instantiateClass(
+                region.getEvictionAdvisor(),
+                EvictionAdvisor.class
+            );
+            builder = builder.withEvictionAdvisor(evictionAdvisor);
         }
+        return builder.build();
     }
 
     @Autowired(required = false)
@@ -0,0 +1,34 @@
+package com.example.intent.config;
+
+import com.example.intent.service.CacheWarmUpService;
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness state health indicator, replacing the one of Spring Boot, which keeps refusing traffic until the
+ * {@link CacheWarmUpService cache warm-up} is over.
+ * <p>
+ * Spring Boot reports {@link ReadinessState#ACCEPTING_TRAFFIC} as soon as the application is started, while the
+ * warm-up runs in the background: the readiness group would otherwise send traffic to an instance with cold caches.
+ */
+@Component("readinessStateHealthIndicator")
+public class CacheWarmUpReadinessIndicator extends ReadinessStateHealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpReadinessIndicator(ApplicationAvailability availability, CacheWarmUpService cacheWarmUpService) {
+        super(availability);
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    protected AvailabilityState getState(ApplicationAvailability applicationAvailability) {
+        if (!cacheWarmUpService.isComplete()) {
+            return ReadinessState.REFUSING_TRAFFIC;
+        }
+        return super.getState(applicationAvailability);
+    }
+}
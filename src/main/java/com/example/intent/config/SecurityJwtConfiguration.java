@@ -3,17 +3,29 @@ package com.example.intent.config;
 import static com.example.intent.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.example.intent.management.SecurityMetersService;
+import com.example.intent.security.CachingJwtDecoder;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.proc.BadJWSException;
 import com.nimbusds.jose.util.Base64;
+import java.text.ParseException;
+import java.time.Clock;
+import java.util.Optional;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
@@ -26,28 +38,45 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ObjectProvider<CacheManager> cacheManager) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
+        // Only the timestamps are validated, so that a failed validation means an expired token
+        jwtDecoder.setJwtValidator(new JwtTimestampValidator());
+        JwtDecoder trackingDecoder = token -> {
             try {
                 return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
+            } catch (JwtValidationException e) {
+                metersService.trackTokenExpired();
+                throw e;
+            } catch (BadJwtException e) {
+                if (e.getCause() instanceof BadJWSException) {
                     metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
+                } else if (isMalformed(e)) {
                     metersService.trackTokenMalformed();
                 } else {
-                    LOG.error("Unknown JWT error {}", e.getMessage());
+                    metersService.trackTokenUnsupported();
                 }
                 throw e;
+            } catch (JwtException e) {
+                LOG.error("Unknown JWT error {}", e.getMessage());
+                throw e;
             }
         };
+        Cache verifiedTokens = Optional.ofNullable(cacheManager.getIfAvailable())
+            .map(manager -> manager.getCache(CachingJwtDecoder.VERIFIED_TOKENS_CACHE))
+            .orElse(null);
+        if (verifiedTokens == null) {
+            return trackingDecoder;
+        }
+        return new CachingJwtDecoder(trackingDecoder, verifiedTokens, metersService, Clock.systemUTC());
+    }
+
+    /**
+     * Whether a token could not be parsed: its header, or its payload once verified.
+     */
+    private static boolean isMalformed(BadJwtException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof ParseException || (cause != null && cause.getCause() instanceof ParseException);
     }
 
     @Bean
@@ -0,0 +1,18 @@
+package com.example.intent.config;
+
+import org.ehcache.config.EvictionAdvisor;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Eviction advisor of the Hibernate {@code READ_WRITE} regions, keeping the entries locked by an update in progress.
+ * <p>
+ * Such an entry stops a concurrent transaction from caching the former state of the entity until the update is
+ * committed: evicting it would let that stale state in.
+ */
+public class SoftLockEvictionAdvisor implements EvictionAdvisor<Object, Object> {
+
+    @Override
+    public boolean adviseAgainstEviction(Object key, Object value) {
+        return value instanceof SoftLock;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.intent.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Times the tasks of an executor: how long they waited in its queue ({@code executor.idle}), and how long they ran
+ * ({@code executor}), the meters Micrometer records for the executors it monitors.
+ */
+public class TaskTimingDecorator implements TaskDecorator {
+
+    private final Timer waitTimer;
+
+    private final Timer runTimer;
+
+    public TaskTimingDecorator(String executorName, MeterRegistry registry) {
+        this.waitTimer = Timer.builder("executor.idle")
+            .description("Time the tasks waited in the queue of the executor")
+            .tag("name", executorName)
+            .register(registry);
+        this.runTimer = Timer.builder("executor")
+            .description("Time the tasks of the executor ran")
+            .tag("name", executorName)
+            .register(registry);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+                runnable.run();
+            } finally {
+                runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
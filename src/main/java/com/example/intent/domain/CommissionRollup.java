@@ -0,0 +1,161 @@
+package com.example.intent.domain;
+
+import com.example.intent.domain.enumeration.RollupDimension;
+import com.example.intent.domain.enumeration.RollupGranularity;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The commission total of the intents created in a time bucket, for one value of a dimension.
+ * <p>
+ * Rows are maintained from the deltas recorded by database triggers on the {@code intent} table, folded in by the
+ * {@link com.example.intent.service.CommissionRollupFoldService} shortly after the intents are written: they are
+ * read-only for the application, and never cached as they change outside of Hibernate.
+ */
+@Entity
+@Immutable
+@Table(name = "commission_rollup")
+@IdClass(CommissionRollup.CommissionRollupId.class)
+public class CommissionRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false)
+    private RollupDimension dimension;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    private RollupGranularity granularity;
+
+    /**
+     * The id of the store, store manager or article, or the coupon type.
+     */
+    @Id
+    @Column(name = "dimension_key", nullable = false)
+    private String dimensionKey;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "total_commission", precision = 23, scale = 2, nullable = false)
+    private BigDecimal totalCommission;
+
+    @Column(name = "intent_count", nullable = false)
+    private long intentCount;
+
+    public RollupDimension getDimension() {
+        return this.dimension;
+    }
+
+    public RollupGranularity getGranularity() {
+        return this.granularity;
+    }
+
+    public String getDimensionKey() {
+        return this.dimensionKey;
+    }
+
+    public Instant getBucketStart() {
+        return this.bucketStart;
+    }
+
+    public BigDecimal getTotalCommission() {
+        return this.totalCommission;
+    }
+
+    public long getIntentCount() {
+        return this.intentCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CommissionRollup)) {
+            return false;
+        }
+        CommissionRollup that = (CommissionRollup) o;
+        return (
+            dimension == that.dimension &&
+            granularity == that.granularity &&
+            Objects.equals(dimensionKey, that.dimensionKey) &&
+            Objects.equals(bucketStart, that.bucketStart)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CommissionRollup{" +
+            "dimension=" + getDimension() +
+            ", granularity=" + getGranularity() +
+            ", dimensionKey='" + getDimensionKey() + "'" +
+            ", bucketStart='" + getBucketStart() + "'" +
+            ", totalCommission=" + getTotalCommission() +
+            ", intentCount=" + getIntentCount() +
+            "}";
+    }
+
+    /**
+     * Primary key of {@link CommissionRollup}.
+     */
+    public static class CommissionRollupId implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private RollupDimension dimension;
+
+        private RollupGranularity granularity;
+
+        private String dimensionKey;
+
+        private Instant bucketStart;
+
+        public CommissionRollupId() {
+            // Empty constructor needed for Hibernate.
+        }
+
+        public CommissionRollupId(RollupDimension dimension, RollupGranularity granularity, String dimensionKey, Instant bucketStart) {
+            this.dimension = dimension;
+            this.granularity = granularity;
+            this.dimensionKey = dimensionKey;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CommissionRollupId)) {
+                return false;
+            }
+            CommissionRollupId that = (CommissionRollupId) o;
+            return (
+                dimension == that.dimension &&
+                granularity == that.granularity &&
+                Objects.equals(dimensionKey, that.dimensionKey) &&
+                Objects.equals(bucketStart, that.bucketStart)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, granularity, dimensionKey, bucketStart);
+        }
+    }
+}
@@ -42,6 +42,10 @@ public class Intent implements Serializable {
     @Column(name = "updated_by")
     private String updatedBy;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private Article article;
 
@@ -140,6 +144,19 @@ public class Intent implements Serializable {
         this.updatedBy = updatedBy;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Intent version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Article getArticle() {
         return this.article;
     }
@@ -247,6 +264,7 @@ public class Intent implements Serializable {
             ", createdBy='" + getCreatedBy() + "'" +
             ", updatedTime='" + getUpdatedTime() + "'" +
             ", updatedBy='" + getUpdatedBy() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,11 @@
+package com.example.intent.domain.enumeration;
+
+/**
+ * The dimensions along which intent commissions are rolled up.
+ */
+public enum RollupDimension {
+    STORE,
+    STORE_MANAGER,
+    ARTICLE,
+    COUPON_TYPE,
+}
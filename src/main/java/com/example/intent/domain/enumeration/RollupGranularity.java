@@ -0,0 +1,9 @@
+package com.example.intent.domain.enumeration;
+
+/**
+ * The width of the time buckets of a commission rollup.
+ */
+public enum RollupGranularity {
+    HOUR,
+    DAY,
+}
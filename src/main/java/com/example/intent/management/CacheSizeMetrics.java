@@ -0,0 +1,96 @@
+package com.example.intent.management;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.lang.reflect.Field;
+import java.util.Map;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Binds a {@code cache.size} gauge to every JCache cache, next to the {@code cache.gets}, {@code cache.puts} and
+ * {@code cache.evictions} meters which Spring Boot binds from the JCache statistics.
+ * <p>
+ * The JCache statistics have no entry count, so it is read from the tier statistics of Ehcache: the number of
+ * mappings of the lowest tier, which holds all the entries of the cache.
+ */
+@Component
+public class CacheSizeMetrics implements MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheSizeMetrics.class);
+
+    public static final String SIZE_METER_NAME = "cache.size";
+    public static final String CACHE_DIMENSION = "cache";
+    public static final String CACHE_MANAGER_DIMENSION = "cache.manager";
+
+    private static final String CACHE_MANAGER_SUFFIX = "CacheManager";
+
+    private final Map<String, CacheManager> cacheManagers;
+
+    public CacheSizeMetrics(Map<String, CacheManager> cacheManagers) {
+        this.cacheManagers = cacheManagers;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cacheManagers.forEach((beanName, cacheManager) -> {
+            if (!(cacheManager instanceof JCacheCacheManager jCacheCacheManager) || jCacheCacheManager.getCacheManager() == null) {
+                return;
+            }
+            StatisticsService statisticsService = statisticsService(jCacheCacheManager.getCacheManager());
+            if (statisticsService == null) {
+                LOG.warn("Cache manager {} does not expose Ehcache statistics, its cache sizes are not measured", beanName);
+                return;
+            }
+            String cacheManagerName = cacheManagerName(beanName);
+            for (String cacheName : jCacheCacheManager.getCacheManager().getCacheNames()) {
+                Gauge.builder(SIZE_METER_NAME, statisticsService, service -> size(service, cacheName))
+                    .tags(CACHE_DIMENSION, cacheName, CACHE_MANAGER_DIMENSION, cacheManagerName)
+                    .description("The number of entries in this cache")
+                    .register(registry);
+            }
+        });
+    }
+
+    /**
+     * The statistics service of an Ehcache JCache cache manager, which Ehcache does not expose.
+     *
+     * @param cacheManager the JCache cache manager.
+     * @return the statistics service, or {@code null} if the cache manager is not an Ehcache one.
+     */
+    static StatisticsService statisticsService(javax.cache.CacheManager cacheManager) {
+        Field field = ReflectionUtils.findField(cacheManager.getClass(), "statisticsService", StatisticsService.class);
+        if (field == null) {
+            return null;
+        }
+        ReflectionUtils.makeAccessible(field);
+        return (StatisticsService) ReflectionUtils.getField(field, cacheManager);
+    }
+
+    static double size(StatisticsService statisticsService, String cacheName) {
+        CacheStatistics cacheStatistics = statisticsService.getCacheStatistics(cacheName);
+        if (cacheStatistics == null) {
+            return Double.NaN;
+        }
+        return cacheStatistics.getTierStatistics().values().stream().mapToLong(TierStatistics::getMappings).max().orElse(0);
+    }
+
+    /**
+     * The name Spring Boot gives to a cache manager in the tags of the cache meters.
+     */
+    static String cacheManagerName(String beanName) {
+        if (beanName.length() > CACHE_MANAGER_SUFFIX.length() && StringUtils.endsWithIgnoreCase(beanName, CACHE_MANAGER_SUFFIX)) {
+            return beanName.substring(0, beanName.length() - CACHE_MANAGER_SUFFIX.length());
+        }
+        return beanName;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.intent.management;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpoint.CacheDescriptor;
+import org.springframework.boot.actuate.cache.CachesEndpoint.CacheManagerDescriptor;
+import org.springframework.boot.actuate.cache.CachesEndpoint.CachesDescriptor;
+import org.springframework.boot.actuate.cache.CachesEndpointWebExtension;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExtension;
+import org.springframework.stereotype.Component;
+
+/**
+ * Web extension of the {@code caches} management endpoint, listing the live statistics of each cache along with
+ * its target: hits, misses, hit ratio, puts, evictions, removals and size.
+ * <p>
+ * The statistics are read from the {@code cache.*} meters, so the endpoint and the metrics always agree. It
+ * replaces the web extension of Spring Boot, whose operations it inherits.
+ */
+@Component
+@ConditionalOnAvailableEndpoint(endpoint = CachesEndpoint.class)
+@EndpointWebExtension(endpoint = CachesEndpoint.class)
+public class CachesEndpointStatisticsExtension extends CachesEndpointWebExtension {
+
+    private final CachesEndpoint delegate;
+
+    private final MeterRegistry registry;
+
+    public CachesEndpointStatisticsExtension(CachesEndpoint delegate, MeterRegistry registry) {
+        super(delegate);
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public CachesDescriptor caches() {
+        Map<String, CacheManagerDescriptor> cacheManagers = new LinkedHashMap<>();
+        delegate
+            .caches()
+            .getCacheManagers()
+            .forEach((cacheManager, descriptor) -> {
+                String cacheManagerName = CacheSizeMetrics.cacheManagerName(cacheManager);
+                Map<String, CacheDescriptor> caches = new LinkedHashMap<>();
+                descriptor
+                    .getCaches()
+                    .forEach((cache, cacheDescriptor) ->
+                        caches.put(cache, new CacheStatisticsDescriptor(cacheDescriptor.getTarget(), statistics(cacheManagerName, cache)))
+                    );
+                cacheManagers.put(cacheManager, new CacheManagerDescriptor(caches));
+            });
+        return new CachesDescriptor(cacheManagers);
+    }
+
+    CacheStatistics statistics(String cacheManager, String cache) {
+        Long hits = count("cache.gets", cacheManager, cache, "result", "hit");
+        Long misses = count("cache.gets", cacheManager, cache, "result", "miss");
+        return new CacheStatistics(
+            hits,
+            misses,
+            hits != null && misses != null && hits + misses > 0 ? (double) hits / (hits + misses) : null,
+            count("cache.puts", cacheManager, cache),
+            count("cache.evictions", cacheManager, cache),
+            count("cache.removals", cacheManager, cache),
+            count(CacheSizeMetrics.SIZE_METER_NAME, cacheManager, cache)
+        );
+    }
+
+    /**
+     * The current value of the meters of a cache, or {@code null} when the cache has no such meter.
+     */
+    private Long count(String meterName, String cacheManager, String cache, String... tags) {
+        Collection<Meter> meters = registry
+            .find(meterName)
+            .tags(CacheSizeMetrics.CACHE_DIMENSION, cache, CacheSizeMetrics.CACHE_MANAGER_DIMENSION, cacheManager)
+            .tags(tags)
+            .meters();
+        double value = 0;
+        for (Meter meter : meters) {
+            for (Measurement measurement : meter.measure()) {
+                value += measurement.getValue();
+            }
+        }
+        return meters.isEmpty() || Double.isNaN(value) ? null : (long) value;
+    }
+
+    /**
+     * A cache with its statistics.
+     */
+    public static final class CacheStatisticsDescriptor extends CacheDescriptor {
+
+        private final CacheStatistics statistics;
+
+        public CacheStatisticsDescriptor(String target, CacheStatistics statistics) {
+            super(target);
+            this.statistics = statistics;
+        }
+
+        public CacheStatistics getStatistics() {
+            return statistics;
+        }
+    }
+
+    /**
+     * Statistics of a cache since the application started; a statistic the cache does not provide is left out.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record CacheStatistics(Long hits, Long misses, Double hitRatio, Long puts, Long evictions, Long removals, Long size) {}
+}
@@ -1,7 +1,9 @@
 package com.example.intent.repository;
 
 import com.example.intent.domain.Article;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +12,13 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, UUID> {}
+public interface ArticleRepository extends JpaRepository<Article, UUID> {
+    String ALL_ARTICLES_CACHE = "allArticles";
+
+    /**
+     * All the articles, for their listing; cached until an article is written through its REST resource.
+     */
+    @Query("select article from Article article")
+    @Cacheable(cacheNames = ALL_ARTICLES_CACHE)
+    List<Article> findAllCached();
+}
@@ -0,0 +1,510 @@
+package com.example.intent.repository;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.Article;
+import com.example.intent.domain.Coupon;
+import com.example.intent.domain.Store;
+import com.example.intent.domain.StoreManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes the cache invalidations of this node to the other nodes, and applies theirs, over PostgreSQL
+ * {@code NOTIFY}: the caches are node-local, so without it the other nodes would serve stale entries until they
+ * expire.
+ * <p>
+ * The invalidations of a transaction are sent with {@code pg_notify} on its own connection, right before it
+ * commits, so that the other nodes receive them if and only if it commits, and once its changes are visible. They
+ * come from:
+ * <ul>
+ * <li>Hibernate, for every entity of a cached region which is updated or deleted, or whose cached collections
+ * change; the other nodes also clear the caches listing the entities of its type;</li>
+ * <li>{@link #publishEntity(Class, Object)}, for the rows updated by native statements;</li>
+ * <li>{@link #publishEviction(String, Object)} and {@link #publishClear(String)}, for the Spring caches.</li>
+ * </ul>
+ * The notifications are received by the {@link CacheInvalidationListener}.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String PUBLISHED_METER_NAME = "cache.invalidation.published";
+    public static final String RECEIVED_METER_NAME = "cache.invalidation.received";
+
+    /**
+     * PostgreSQL refuses the payloads of 8000 bytes or more; the invalidations of a transaction are split into
+     * several notifications below this size.
+     */
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final String NOTIFY = "select pg_notify(?, ?)";
+
+    /**
+     * The Spring caches built from the rows of an entity, cleared by the other nodes whenever one of them changes.
+     */
+    private static final Map<String, List<String>> DEPENDENT_CACHES = Map.of(
+        Article.class.getName(),
+        List.of(ArticleRepository.ALL_ARTICLES_CACHE),
+        Store.class.getName(),
+        List.of(StoreRepository.ALL_STORES_CACHE),
+        StoreManager.class.getName(),
+        List.of(StoreManagerRepository.ALL_STORE_MANAGERS_CACHE),
+        Coupon.class.getName(),
+        List.of(CouponRepository.ALL_COUPONS_CACHE)
+    );
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final EntityManager entityManager;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter publishedCounter;
+
+    private final Counter receivedCounter;
+
+    /**
+     * The invalidations waiting for the commit of the transaction of each session.
+     */
+    private final Map<SessionImplementor, Set<Invalidation>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * The roles of the cached collections, by owner entity name.
+     */
+    private final Map<String, List<String>> cachedCollections = new HashMap<>();
+
+    public CacheInvalidationBus(
+        ApplicationProperties applicationProperties,
+        EntityManager entityManager,
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        MeterRegistry registry
+    ) {
+        this.properties = applicationProperties.getCache().getInvalidation();
+        this.entityManager = entityManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.publishedCounter = Counter.builder(PUBLISHED_METER_NAME)
+            .description("Number of cache invalidations sent to the other nodes")
+            .baseUnit("invalidations")
+            .register(registry);
+        this.receivedCounter = Counter.builder(RECEIVED_METER_NAME)
+            .description("Number of cache invalidations received from the other nodes and applied")
+            .baseUnit("invalidations")
+            .register(registry);
+        sessionFactory
+            .getMappingMetamodel()
+            .forEachCollectionDescriptor(collection -> {
+                if (collection.hasCache()) {
+                    cachedCollections
+                        .computeIfAbsent(collection.getOwnerEntityPersister().getEntityName(), owner -> new ArrayList<>())
+                        .add(collection.getRole());
+                }
+            });
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        HibernateListener listener = new HibernateListener();
+        listeners.appendListeners(EventType.POST_INSERT, listener);
+        listeners.appendListeners(EventType.POST_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_DELETE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    /**
+     * @return the identifier of this node, which it ignores the notifications of.
+     */
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Make the other nodes evict an entity, for a row changed behind the back of Hibernate.
+     *
+     * @param entityClass the class of the entity.
+     * @param id the id of the entity.
+     */
+    public void publishEntity(Class<?> entityClass, Object id) {
+        publish(Invalidation.entity(entityClass.getName(), id));
+    }
+
+    /**
+     * Make the other nodes evict a key from a Spring cache.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key, or {@code null} for none.
+     */
+    public void publishEviction(String cacheName, Object key) {
+        if (key == null) {
+            return;
+        }
+        // The notifications carry the keys as strings, which the keys of the other types could not be read back from
+        publish(key instanceof String string ? Invalidation.key(cacheName, string) : Invalidation.clear(cacheName));
+    }
+
+    /**
+     * Make the other nodes clear a Spring cache.
+     *
+     * @param cacheName the name of the cache.
+     */
+    public void publishClear(String cacheName) {
+        publish(Invalidation.clear(cacheName));
+    }
+
+    private void publish(Invalidation invalidation) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            enqueue(entityManager.unwrap(SessionImplementor.class), invalidation);
+        } else {
+            // The pooled connections do not auto-commit, so the notification needs a transaction of its own
+            transactionTemplate.executeWithoutResult(status -> enqueue(entityManager.unwrap(SessionImplementor.class), invalidation));
+        }
+    }
+
+    /**
+     * Queue an invalidation until the transaction of a session commits.
+     */
+    private void enqueue(SessionImplementor session, Invalidation invalidation) {
+        Set<Invalidation> invalidations = pending.computeIfAbsent(session, s -> {
+            s.getActionQueue().registerProcess(this::sendPending);
+            // On rollback, the invalidations are dropped
+            s.getActionQueue().registerProcess((success, completed) -> pending.remove(completed));
+            return new LinkedHashSet<>();
+        });
+        invalidations.add(invalidation);
+    }
+
+    private void sendPending(SessionImplementor session) {
+        Set<Invalidation> invalidations = pending.remove(session);
+        if (invalidations == null || invalidations.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> send(connection, invalidations));
+    }
+
+    private void send(Connection connection, Collection<Invalidation> invalidations) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(NOTIFY)) {
+            for (String payload : encode(invalidations)) {
+                statement.setString(1, properties.getChannel());
+                statement.setString(2, payload);
+                statement.executeQuery().close();
+            }
+        }
+        publishedCounter.increment(invalidations.size());
+    }
+
+    /**
+     * Encode invalidations as notification payloads, each below {@link #MAX_PAYLOAD_BYTES}.
+     */
+    List<String> encode(Collection<Invalidation> invalidations) {
+        List<String> payloads = new ArrayList<>();
+        List<Invalidation> batch = new ArrayList<>();
+        int batchBytes = envelopeBytes();
+        for (Invalidation invalidation : invalidations) {
+            int bytes = bytes(invalidation);
+            if (envelopeBytes() + bytes > MAX_PAYLOAD_BYTES) {
+                // Too large a key to be sent on its own: the whole cache is invalidated instead
+                invalidation = invalidation.widen();
+                bytes = bytes(invalidation);
+            }
+            if (!batch.isEmpty() && batchBytes + 1 + bytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(write(new Message(node, batch)));
+                batch = new ArrayList<>();
+                batchBytes = envelopeBytes();
+            }
+            batchBytes += bytes + (batch.isEmpty() ? 0 : 1);
+            batch.add(invalidation);
+        }
+        if (!batch.isEmpty()) {
+            payloads.add(write(new Message(node, batch)));
+        }
+        return payloads;
+    }
+
+    private int envelopeBytes() {
+        return write(new Message(node, List.of())).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private int bytes(Invalidation invalidation) {
+        return write(invalidation).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode the cache invalidations", e);
+        }
+    }
+
+    /**
+     * Apply the invalidations of a notification, unless this node sent it.
+     *
+     * @param payload the payload of the notification.
+     */
+    public void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Ignoring a malformed cache invalidation notification: {}", payload, e);
+            return;
+        }
+        if (node.equals(message.node())) {
+            return;
+        }
+        for (Invalidation invalidation : message.invalidations()) {
+            try {
+                apply(invalidation);
+                receivedCounter.increment();
+            } catch (RuntimeException e) {
+                LOG.warn("Could not apply the cache invalidation {} from node {}", invalidation, message.node(), e);
+            }
+        }
+    }
+
+    void apply(Invalidation invalidation) {
+        switch (invalidation.kind()) {
+            case ENTITY -> evictEntity(invalidation.name(), invalidation.key());
+            case ENTITIES -> evictEntities(invalidation.name());
+            case KEY -> springCache(invalidation.name()).ifPresent(cache -> cache.evict(invalidation.key()));
+            case CLEAR -> springCache(invalidation.name()).ifPresent(Cache::clear);
+        }
+    }
+
+    private void evictEntity(String entityName, String key) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister == null) {
+            LOG.debug("Ignoring the invalidation of unknown entity {}", entityName);
+            return;
+        }
+        Object id = persister.getIdentifierMapping().getJavaType().fromString(key);
+        sessionFactory.getCache().evictEntityData(entityName, id);
+        cachedCollections.getOrDefault(entityName, List.of()).forEach(role -> sessionFactory.getCache().evictCollectionData(role, id));
+        clearDependentCaches(entityName);
+    }
+
+    private void evictEntities(String entityName) {
+        if (sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName) == null) {
+            LOG.debug("Ignoring the invalidation of unknown entity {}", entityName);
+            return;
+        }
+        sessionFactory.getCache().evictEntityData(entityName);
+        cachedCollections.getOrDefault(entityName, List.of()).forEach(role -> sessionFactory.getCache().evictCollectionData(role));
+        clearDependentCaches(entityName);
+    }
+
+    private void clearDependentCaches(String entityName) {
+        DEPENDENT_CACHES.getOrDefault(entityName, List.of()).forEach(cacheName -> springCache(cacheName).ifPresent(Cache::clear));
+    }
+
+    private Optional<Cache> springCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            LOG.debug("Ignoring the invalidation of unknown cache {}", cacheName);
+        }
+        return Optional.ofNullable(cache);
+    }
+
+    /**
+     * Clear every cache of this node, when notifications may have been missed.
+     */
+    public void clearAll() {
+        sessionFactory.getCache().evictAllRegions();
+        cacheManager.getCacheNames().forEach(cacheName -> springCache(cacheName).ifPresent(Cache::clear));
+    }
+
+    /**
+     * The kinds of invalidations.
+     */
+    public enum Kind {
+        /**
+         * An entity, with its cached collections and the Spring caches built from its table.
+         */
+        ENTITY,
+        /**
+         * All the entities of a type, with their cached collections and the Spring caches built from their table.
+         */
+        ENTITIES,
+        /**
+         * A key of a Spring cache.
+         */
+        KEY,
+        /**
+         * A whole Spring cache.
+         */
+        CLEAR,
+    }
+
+    /**
+     * An invalidation.
+     *
+     * @param kind what is invalidated.
+     * @param name the entity name, or the name of the Spring cache.
+     * @param key the id of the entity, or the key in the Spring cache, as a string; {@code null} for a whole region.
+     */
+    public record Invalidation(Kind kind, String name, String key) {
+        static Invalidation entity(String entityName, Object id) {
+            return new Invalidation(Kind.ENTITY, entityName, id.toString());
+        }
+
+        static Invalidation key(String cacheName, String key) {
+            return new Invalidation(Kind.KEY, cacheName, key);
+        }
+
+        static Invalidation clear(String cacheName) {
+            return new Invalidation(Kind.CLEAR, cacheName, null);
+        }
+
+        /**
+         * @return the invalidation of the whole region holding this one.
+         */
+        Invalidation widen() {
+            return switch (kind) {
+                case ENTITY, ENTITIES -> new Invalidation(Kind.ENTITIES, name, null);
+                case KEY, CLEAR -> clear(name);
+            };
+        }
+    }
+
+    /**
+     * The payload of a notification.
+     *
+     * @param node the node which sent it.
+     * @param invalidations the invalidations of a committed transaction.
+     */
+    record Message(String node, List<Invalidation> invalidations) {}
+
+    /**
+     * Publishes the changes of the cached entities and collections flushed by Hibernate.
+     */
+    private final class HibernateListener
+        implements
+            PostInsertEventListener,
+            PostUpdateEventListener,
+            PostDeleteEventListener,
+            PostCollectionRecreateEventListener,
+            PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            // The other nodes cannot have cached a new entity, only listed the others
+            if (DEPENDENT_CACHES.containsKey(event.getPersister().getEntityName())) {
+                onChange(event.getSession(), event.getPersister(), event.getId());
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            onChange(event.getSession(), event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            onChange(event.getSession(), event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            onCollectionChange(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            onCollectionChange(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            onCollectionChange(event);
+        }
+
+        private void onChange(EventSource session, EntityPersister persister, Object id) {
+            if (persister.canWriteToCache() || DEPENDENT_CACHES.containsKey(persister.getEntityName())) {
+                enqueue(session, Invalidation.entity(persister.getEntityName(), id));
+            }
+        }
+
+        private void onCollectionChange(AbstractCollectionEvent event) {
+            String owner = event.getAffectedOwnerEntityName();
+            Object ownerId = event.getAffectedOwnerIdOrNull();
+            if (ownerId != null && cachedCollections.containsKey(owner)) {
+                enqueue(event.getSession(), Invalidation.entity(owner, ownerId));
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.intent.repository;
+
+import com.example.intent.config.ApplicationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens to the cache invalidations of the other nodes, and applies them through the {@link CacheInvalidationBus}.
+ * <p>
+ * A {@code LISTEN} holds its connection for good, so it has a dedicated one, outside of the pool. Notifications
+ * sent while it is disconnected are lost: when it connects again, every cache of this node is cleared.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final CacheInvalidationBus bus;
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final DataSource dataSource;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public CacheInvalidationListener(
+        CacheInvalidationBus bus,
+        ApplicationProperties applicationProperties,
+        DataSourceProperties dataSourceProperties
+    ) {
+        this.bus = bus;
+        this.properties = applicationProperties.getCache().getInvalidation();
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + properties.getChannel());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::run, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        LOG.info("Cache invalidation listener started on channel {}, as node {}", properties.getChannel(), bus.getNode());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (listener == null) {
+            return;
+        }
+        running = false;
+        listener.join(properties.getPollInterval().multipliedBy(2).toMillis());
+        LOG.info("Cache invalidation listener stopped");
+    }
+
+    private void run() {
+        boolean missedNotifications = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                if (missedNotifications) {
+                    LOG.info("Cache invalidation listener reconnected, clearing the caches of this node");
+                    bus.clearAll();
+                    missedNotifications = false;
+                }
+                listen(connection.unwrap(PGConnection.class));
+            } catch (SQLException | RuntimeException e) {
+                missedNotifications = true;
+                LOG.warn("Cache invalidation listener disconnected, connecting again in {}", properties.getReconnectDelay(), e);
+                try {
+                    Thread.sleep(properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications((int) properties.getPollInterval().toMillis());
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                bus.receive(notification.getParameter());
+            }
+        }
+    }
+}
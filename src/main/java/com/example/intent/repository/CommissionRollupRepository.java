@@ -0,0 +1,42 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.CommissionRollup;
+import com.example.intent.domain.enumeration.RollupDimension;
+import com.example.intent.domain.enumeration.RollupGranularity;
+import java.time.Instant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the CommissionRollup entity.
+ */
+@Repository
+public interface CommissionRollupRepository extends JpaRepository<CommissionRollup, CommissionRollup.CommissionRollupId> {
+    @Query(
+        "select rollup from CommissionRollup rollup where rollup.dimension = :dimension and rollup.granularity = :granularity " +
+        "and rollup.bucketStart >= :from and rollup.bucketStart < :to"
+    )
+    Page<CommissionRollup> findAllInRange(
+        @Param("dimension") RollupDimension dimension,
+        @Param("granularity") RollupGranularity granularity,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        Pageable pageable
+    );
+
+    @Query(
+        "select rollup from CommissionRollup rollup where rollup.dimension = :dimension and rollup.granularity = :granularity " +
+        "and rollup.dimensionKey = :dimensionKey and rollup.bucketStart >= :from and rollup.bucketStart < :to"
+    )
+    Page<CommissionRollup> findAllInRange(
+        @Param("dimension") RollupDimension dimension,
+        @Param("granularity") RollupGranularity granularity,
+        @Param("dimensionKey") String dimensionKey,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        Pageable pageable
+    );
+}
@@ -1,6 +1,8 @@
 package com.example.intent.repository;
 
 import com.example.intent.domain.Coupon;
+import java.util.List;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,13 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CouponRepository extends JpaRepository<Coupon, String> {}
+public interface CouponRepository extends JpaRepository<Coupon, String> {
+    String ALL_COUPONS_CACHE = "allCoupons";
+
+    /**
+     * All the coupons, for their listing; cached until a coupon is written through its REST resource.
+     */
+    @Query("select coupon from Coupon coupon")
+    @Cacheable(cacheNames = ALL_COUPONS_CACHE)
+    List<Coupon> findAllCached();
+}
@@ -0,0 +1,48 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.Intent;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository fragment updating an {@link Intent} row in a single {@code UPDATE ... RETURNING} statement, guarded by
+ * its version: no select of the intent is needed before the write, and a concurrent modification is detected by the
+ * statement itself.
+ * <p>
+ * The version of the row is incremented by each update, and the second level cache entry of the intent is evicted.
+ * The rows are updated and deleted by id and creation time, as looked up in {@code intent_key}, for the statements to
+ * only touch the partition of the intent; see {@link IntentLocatorRepository}.
+ */
+public interface IntentConditionalUpdateRepository {
+    /**
+     * Replace the columns and the associations of an intent.
+     *
+     * @param intent the new values, {@link IntentSummary#id()} telling which intent to update; its version is ignored.
+     * @param expectedVersion the version the intent must still have, or {@code null} to update it whatever its version.
+     * @return the updated row, or empty if there is no intent with that id and version.
+     */
+    Optional<IntentSummary> updateIfVersion(IntentSummary intent, Long expectedVersion);
+
+    /**
+     * Update the columns of an intent which are not {@code null} in {@code intent}, leaving its associations untouched.
+     *
+     * @param intent the new values, {@link IntentSummary#id()} telling which intent to update; its version is ignored.
+     * @param expectedVersion the version the intent must still have, or {@code null} to update it whatever its version.
+     * @return the updated row, or empty if there is no intent with that id and version.
+     */
+    Optional<IntentSummary> patchIfVersion(IntentSummary intent, Long expectedVersion);
+
+    /**
+     * Delete an intent, if it exists, in a single statement on its partition.
+     *
+     * @param id the id of the intent.
+     */
+    void deleteById(UUID id);
+
+    /**
+     * Delete an intent, if it still exists, as {@link #deleteById(UUID)} does.
+     *
+     * @param intent the intent to delete.
+     */
+    void delete(Intent intent);
+}
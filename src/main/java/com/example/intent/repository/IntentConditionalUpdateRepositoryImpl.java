@@ -0,0 +1,179 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.Intent;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class IntentConditionalUpdateRepositoryImpl implements IntentConditionalUpdateRepository {
+
+    private static final String RETURNING =
+        " returning id, commission, created_time, created_by, updated_time, updated_by, article_id, user_id, " +
+        "store_manager_id, store_id, coupon_id, rd_checkout_id, version";
+
+    private static final String UPDATE =
+        "update intent set commission = :commission, created_time = :createdTime, created_by = :createdBy, " +
+        "updated_time = :updatedTime, updated_by = :updatedBy, article_id = :articleId, user_id = :userId, " +
+        "store_manager_id = :storeManagerId, store_id = :storeId, coupon_id = :couponId, rd_checkout_id = :rdCheckoutId, " +
+        "version = version + 1 where id = :id and created_time = :locatedTime";
+
+    private static final String PATCH =
+        "update intent set commission = coalesce(:commission, commission), " +
+        "created_time = coalesce(:createdTime, created_time), created_by = coalesce(:createdBy, created_by), " +
+        "updated_time = coalesce(:updatedTime, updated_time), updated_by = coalesce(:updatedBy, updated_by), " +
+        "version = version + 1 where id = :id and created_time = :locatedTime";
+
+    private static final String DELETE = "delete from intent where id = :id and created_time = :locatedTime returning id";
+
+    private static final String VERSION_PREDICATE = " and version = :version";
+
+    private final EntityManager entityManager;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    IntentConditionalUpdateRepositoryImpl(EntityManager entityManager, CacheInvalidationBus cacheInvalidationBus) {
+        this.entityManager = entityManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    public Optional<IntentSummary> updateIfVersion(IntentSummary intent, Long expectedVersion) {
+        Optional<Instant> locatedTime = IntentLocatorRepositoryImpl.findCreatedTime(entityManager, intent.id(), true);
+        if (locatedTime.isEmpty()) {
+            return Optional.empty();
+        }
+        NativeQuery<IntentSummary> query = createQuery(UPDATE, intent, locatedTime.get(), expectedVersion)
+            .setParameter("articleId", intent.articleId(), StandardBasicTypes.UUID)
+            .setParameter("userId", intent.userId(), StandardBasicTypes.UUID)
+            .setParameter("storeManagerId", intent.storeManagerId(), StandardBasicTypes.UUID)
+            .setParameter("storeId", intent.storeId(), StandardBasicTypes.UUID)
+            .setParameter("couponId", intent.couponId(), StandardBasicTypes.STRING)
+            .setParameter("rdCheckoutId", intent.rdCheckoutId(), StandardBasicTypes.STRING);
+        return execute(query, intent.id());
+    }
+
+    @Override
+    public Optional<IntentSummary> patchIfVersion(IntentSummary intent, Long expectedVersion) {
+        return IntentLocatorRepositoryImpl.findCreatedTime(entityManager, intent.id(), true).flatMap(locatedTime ->
+            execute(createQuery(PATCH, intent, locatedTime, expectedVersion), intent.id())
+        );
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        IntentLocatorRepositoryImpl.findCreatedTime(entityManager, id, true).ifPresent(locatedTime -> {
+            List<?> deleted = entityManager
+                .unwrap(Session.class)
+                .createNativeQuery(DELETE)
+                .addScalar("id", StandardBasicTypes.UUID)
+                .setParameter("id", id, StandardBasicTypes.UUID)
+                .setParameter("locatedTime", locatedTime, StandardBasicTypes.INSTANT)
+                .getResultList();
+            if (!deleted.isEmpty()) {
+                evict(id);
+                Intent managed = entityManager.getReference(Intent.class, id);
+                entityManager.detach(managed);
+            }
+        });
+    }
+
+    @Override
+    public void delete(Intent intent) {
+        deleteById(intent.getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<IntentSummary> createQuery(String update, IntentSummary intent, Instant locatedTime, Long expectedVersion) {
+        String sql = update + (expectedVersion != null ? VERSION_PREDICATE : "") + RETURNING;
+        // Parameters are typed explicitly, so that a null value is still bound with the type of its column
+        NativeQuery<IntentSummary> query = entityManager
+            .unwrap(Session.class)
+            .createNativeQuery(sql)
+            .addScalar("id", StandardBasicTypes.UUID)
+            .addScalar("commission", StandardBasicTypes.BIG_DECIMAL)
+            .addScalar("created_time", StandardBasicTypes.INSTANT)
+            .addScalar("created_by", StandardBasicTypes.STRING)
+            .addScalar("updated_time", StandardBasicTypes.INSTANT)
+            .addScalar("updated_by", StandardBasicTypes.STRING)
+            .addScalar("article_id", StandardBasicTypes.UUID)
+            .addScalar("user_id", StandardBasicTypes.UUID)
+            .addScalar("store_manager_id", StandardBasicTypes.UUID)
+            .addScalar("store_id", StandardBasicTypes.UUID)
+            .addScalar("coupon_id", StandardBasicTypes.STRING)
+            .addScalar("rd_checkout_id", StandardBasicTypes.STRING)
+            .addScalar("version", StandardBasicTypes.LONG)
+            .setTupleTransformer((tuple, aliases) ->
+                new IntentSummary(
+                    (UUID) tuple[0],
+                    (BigDecimal) tuple[1],
+                    (Instant) tuple[2],
+                    (String) tuple[3],
+                    (Instant) tuple[4],
+                    (String) tuple[5],
+                    (UUID) tuple[6],
+                    (UUID) tuple[7],
+                    (UUID) tuple[8],
+                    (UUID) tuple[9],
+                    (String) tuple[10],
+                    (String) tuple[11],
+                    (Long) tuple[12]
+                )
+            )
+            .setParameter("id", intent.id(), StandardBasicTypes.UUID)
+            .setParameter("locatedTime", locatedTime, StandardBasicTypes.INSTANT)
+            .setParameter("commission", intent.commission(), StandardBasicTypes.BIG_DECIMAL)
+            .setParameter("createdTime", intent.createdTime(), StandardBasicTypes.INSTANT)
+            .setParameter("createdBy", intent.createdBy(), StandardBasicTypes.STRING)
+            .setParameter("updatedTime", intent.updatedTime(), StandardBasicTypes.INSTANT)
+            .setParameter("updatedBy", intent.updatedBy(), StandardBasicTypes.STRING);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion, StandardBasicTypes.LONG);
+        }
+        return query;
+    }
+
+    private Optional<IntentSummary> execute(NativeQuery<IntentSummary> query, UUID id) {
+        List<IntentSummary> updated = query.getResultList();
+        if (updated.isEmpty()) {
+            return Optional.empty();
+        }
+        evict(id);
+        // An instance already managed by the persistence context would otherwise keep its former state
+        Intent managed = entityManager.getReference(Intent.class, id);
+        if (Hibernate.isInitialized(managed)) {
+            entityManager.refresh(managed);
+        } else {
+            entityManager.detach(managed);
+        }
+        return Optional.of(updated.get(0));
+    }
+
+    /**
+     * Evict the cached intent now, and again once the transaction has committed: a concurrent reader could cache
+     * the former row in between, as the update is not visible to it before the commit. The other nodes evict it on
+     * commit too, as Hibernate does not see the update.
+     */
+    private void evict(UUID id) {
+        entityManager.getEntityManagerFactory().getCache().evict(Intent.class, id);
+        cacheInvalidationBus.publishEntity(Intent.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        entityManager.getEntityManagerFactory().getCache().evict(Intent.class, id);
+                    }
+                }
+            );
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.intent.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Named fetch profiles of the {@link com.example.intent.domain.Intent} reads, telling which associations are
+ * loaded together with the intents.
+ */
+public enum IntentFetchProfile {
+    /**
+     * The intent columns and the foreign keys of its associations, which are not loaded.
+     */
+    SUMMARY(),
+
+    /**
+     * The whole intent graph, loaded with the intents in the same query.
+     */
+    FULL("article", "user", "storeManager", "store", "coupon", "rdCheckout");
+
+    private final List<String> attributePaths;
+
+    IntentFetchProfile(String... attributePaths) {
+        this.attributePaths = List.of(attributePaths);
+    }
+
+    /**
+     * @return the associations fetched by this profile.
+     */
+    public List<String> getAttributePaths() {
+        return attributePaths;
+    }
+
+    public static Optional<IntentFetchProfile> fromName(String name) {
+        return Arrays.stream(values()).filter(profile -> profile.name().equalsIgnoreCase(name)).findFirst();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.Intent;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository fragment finding an {@link Intent} by id in its own partition only.
+ * <p>
+ * The primary key of the partitioned {@code intent} table is {@code (id, created_time)}, so a lookup by id alone
+ * probes the index of every partition: the creation time of the intent is first read from {@code intent_key}, by its
+ * primary key, and the intent is then read by id and creation time. These methods take precedence over the ones of
+ * the base repository.
+ */
+public interface IntentLocatorRepository {
+    /**
+     * Find the creation time of an intent, which tells its partition.
+     *
+     * @param id the id of the intent.
+     * @return the creation time, or empty if there is no intent with that id.
+     */
+    Optional<Instant> findCreatedTime(UUID id);
+
+    /**
+     * Find an intent from the second level cache, or else from its partition.
+     *
+     * @param id the id of the intent.
+     * @return the intent, or empty if there is no intent with that id.
+     */
+    Optional<Intent> findById(UUID id);
+
+    boolean existsById(UUID id);
+}
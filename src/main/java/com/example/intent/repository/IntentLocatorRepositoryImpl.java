@@ -0,0 +1,59 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.Intent;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+class IntentLocatorRepositoryImpl implements IntentLocatorRepository {
+
+    private final EntityManager entityManager;
+
+    IntentLocatorRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Instant> findCreatedTime(UUID id) {
+        return findCreatedTime(entityManager, id, false);
+    }
+
+    @Override
+    public Optional<Intent> findById(UUID id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(Intent.class, id)) {
+            return Optional.ofNullable(entityManager.find(Intent.class, id));
+        }
+        return findCreatedTime(id).flatMap(createdTime ->
+            entityManager
+                .createQuery("select intent from Intent intent where intent.id = :id and intent.createdTime = :createdTime", Intent.class)
+                .setParameter("id", id)
+                .setParameter("createdTime", createdTime)
+                .getResultStream()
+                .findFirst()
+        );
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return findCreatedTime(id).isPresent();
+    }
+
+    /**
+     * Read the creation time of an intent from {@code intent_key}, and lock its key when {@code forUpdate}: a
+     * concurrent update of the creation time then waits for the transaction, and cannot move the intent away from
+     * the partition it is looked for in.
+     */
+    @SuppressWarnings("unchecked")
+    static Optional<Instant> findCreatedTime(EntityManager entityManager, UUID id, boolean forUpdate) {
+        NativeQuery<Instant> query = entityManager
+            .unwrap(Session.class)
+            .createNativeQuery("select created_time from intent_key where id = :id" + (forUpdate ? " for update" : ""))
+            .addScalar("created_time", StandardBasicTypes.INSTANT)
+            .setParameter("id", id, StandardBasicTypes.UUID);
+        return query.getResultStream().findFirst();
+    }
+}
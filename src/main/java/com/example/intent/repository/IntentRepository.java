@@ -1,9 +1,15 @@
 package com.example.intent.repository;
 
 import com.example.intent.domain.Intent;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,7 +17,54 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface IntentRepository extends JpaRepository<Intent, UUID> {
+public interface IntentRepository extends JpaRepository<Intent, UUID>, JpaSpecificationExecutor<Intent>,
+        IntentSummaryRepository,
+        IntentLocatorRepository,
+        IntentConditionalUpdateRepository {
+    // Implemented by the fragments, which look the intent up in its partition only
+    @Override
+    Optional<Intent> findById(UUID id);
+
+    @Override
+    boolean existsById(UUID id);
+
+    @Override
+    void deleteById(UUID id);
+
+    @Override
+    void delete(Intent intent);
+
     @Query("select intent from Intent intent where intent.user.login = ?#{authentication.name}")
     List<Intent> findByUserIsCurrentUser();
+
+    /**
+     * Find an intent with the associations of the {@link IntentFetchProfile#FULL} profile, in a single query on its
+     * partition.
+     */
+    default Optional<Intent> findOneWithEagerRelationships(UUID id) {
+        return this.findCreatedTime(id).flatMap(createdTime -> this.findOneWithToOneRelationships(id, createdTime));
+    }
+
+    @Query(
+        "select intent from Intent intent left join fetch intent.article left join fetch intent.user " +
+        "left join fetch intent.storeManager left join fetch intent.store left join fetch intent.coupon " +
+        "left join fetch intent.rdCheckout where intent.id =:id and intent.createdTime = :createdTime"
+    )
+    Optional<Intent> findOneWithToOneRelationships(@Param("id") UUID id, @Param("createdTime") Instant createdTime);
+
+    /**
+     * Stream the summaries of the intents created in {@code [from, to)}, oldest first, through a forward-only cursor.
+     * <p>
+     * The rows are read as projections, so the persistence context does not grow with the number of
+     * streamed rows. The stream must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "select new com.example.intent.repository.IntentSummary(intent.id, intent.commission, intent.createdTime, " +
+        "intent.createdBy, intent.updatedTime, intent.updatedBy, intent.article.id, intent.user.id, intent.storeManager.id, " +
+        "intent.store.id, intent.coupon.id, intent.rdCheckout.id, intent.version) " +
+        "from Intent intent where intent.createdTime >= :from and intent.createdTime < :to " +
+        "order by intent.createdTime, intent.id"
+    )
+    Stream<IntentSummary> streamAllByCreatedTimeRange(@Param("from") Instant from, @Param("to") Instant to);
 }
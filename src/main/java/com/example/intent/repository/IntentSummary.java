@@ -0,0 +1,27 @@
+package com.example.intent.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Constructor projection of an {@link com.example.intent.domain.Intent} row: its own columns and the foreign keys
+ * of its associations, read without building a managed entity nor joining the referenced tables.
+ * <p>
+ * It also carries the values of a single statement update, see {@link IntentConditionalUpdateRepository}.
+ */
+public record IntentSummary(
+    UUID id,
+    BigDecimal commission,
+    Instant createdTime,
+    String createdBy,
+    Instant updatedTime,
+    String updatedBy,
+    UUID articleId,
+    UUID userId,
+    UUID storeManagerId,
+    UUID storeId,
+    String couponId,
+    String rdCheckoutId,
+    Long version
+) {}
@@ -0,0 +1,21 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.Intent;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Repository fragment reading {@link Intent} rows as {@link IntentSummary} projections.
+ */
+public interface IntentSummaryRepository {
+    /**
+     * Find the summaries of the intents matching a specification.
+     *
+     * @param specification the filter, or {@code null} for all the intents.
+     * @param sort the order of the results.
+     * @param limit the maximum number of results.
+     * @return the matching summaries.
+     */
+    List<IntentSummary> findAllSummaries(Specification<Intent> specification, Sort sort, int limit);
+}
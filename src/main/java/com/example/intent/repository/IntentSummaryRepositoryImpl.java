@@ -0,0 +1,56 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.*; // for static metamodels
+import com.example.intent.domain.Intent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+class IntentSummaryRepositoryImpl implements IntentSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    IntentSummaryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<IntentSummary> findAllSummaries(Specification<Intent> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IntentSummary> query = cb.createQuery(IntentSummary.class);
+        Root<Intent> root = query.from(Intent.class);
+        // The id of a to-one association is read from the foreign key column, without a join
+        query.select(
+            cb.construct(
+                IntentSummary.class,
+                root.get(Intent_.id),
+                root.get(Intent_.commission),
+                root.get(Intent_.createdTime),
+                root.get(Intent_.createdBy),
+                root.get(Intent_.updatedTime),
+                root.get(Intent_.updatedBy),
+                root.get(Intent_.article).get(Article_.id),
+                root.get(Intent_.user).get(User_.id),
+                root.get(Intent_.storeManager).get(StoreManager_.id),
+                root.get(Intent_.store).get(Store_.id),
+                root.get(Intent_.coupon).get(Coupon_.id),
+                root.get(Intent_.rdCheckout).get(RDCheckout_.id),
+                root.get(Intent_.version)
+            )
+        );
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
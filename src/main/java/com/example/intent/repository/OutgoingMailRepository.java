@@ -0,0 +1,42 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.OutgoingMail;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link OutgoingMail} entity.
+ */
+@Repository
+public interface OutgoingMailRepository extends JpaRepository<OutgoingMail, UUID> {
+    /**
+     * Lock the emails due, oldest attempt first, skipping the ones locked by another sender: the senders of several
+     * nodes share the outbox without waiting for each other, nor sending an email twice.
+     */
+    @Query(
+        value = "select * from mail_outbox where next_attempt_at <= :now order by next_attempt_at limit :limit for update skip locked",
+        nativeQuery = true
+    )
+    List<OutgoingMail> findDueForUpdate(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Record a failed attempt to send an email.
+     *
+     * @param nextAttemptAt when to attempt again, {@code null} to give the email up.
+     */
+    @Modifying
+    @Query(
+        "update OutgoingMail mail set mail.attempts = :attempts, mail.nextAttemptAt = :nextAttemptAt, mail.lastError = :lastError " +
+        "where mail.id = :id"
+    )
+    void reschedule(
+        @Param("id") UUID id,
+        @Param("attempts") int attempts,
+        @Param("nextAttemptAt") Instant nextAttemptAt,
+        @Param("lastError") String lastError
+    );
+}
@@ -0,0 +1,12 @@
+package com.example.intent.repository;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * What is looked up of a {@link com.example.intent.domain.RefreshToken} by its digest: only the columns which never
+ * change, so that the lookup can be cached without being invalidated. Whether the token was used or revoked is
+ * always decided by {@link RefreshTokenRepository#markUsed(UUID, Instant)}.
+ */
+public record RefreshTokenLookup(UUID id, UUID familyId, UUID userId, String login, Instant expiresAt) implements Serializable {}
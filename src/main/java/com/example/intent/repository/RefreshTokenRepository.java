@@ -0,0 +1,46 @@
+package com.example.intent.repository;
+
+import com.example.intent.domain.RefreshToken;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link RefreshToken} entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+    String REFRESH_TOKENS_CACHE = "refreshTokens";
+
+    @Cacheable(cacheNames = REFRESH_TOKENS_CACHE, unless = "#result == null")
+    @Query(
+        "select new com.example.intent.repository.RefreshTokenLookup(token.id, token.familyId, user.id, user.login, token.expiresAt) " +
+        "from RefreshToken token join token.user user where token.tokenHash = :tokenHash"
+    )
+    Optional<RefreshTokenLookup> findLookupByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Mark a token used, unless it already was or was revoked.
+     *
+     * @return {@code 1} if this call used the token, {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update RefreshToken token set token.usedDate = :now where token.id = :id and token.usedDate is null")
+    int markUsed(@Param("id") UUID id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RefreshToken token where token.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RefreshToken token where token.user.id = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
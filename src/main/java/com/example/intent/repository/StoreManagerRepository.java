@@ -1,7 +1,9 @@
 package com.example.intent.repository;
 
 import com.example.intent.domain.StoreManager;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +12,13 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface StoreManagerRepository extends JpaRepository<StoreManager, UUID> {}
+public interface StoreManagerRepository extends JpaRepository<StoreManager, UUID> {
+    String ALL_STORE_MANAGERS_CACHE = "allStoreManagers";
+
+    /**
+     * All the store managers, for their listing; cached until a store manager is written through its REST resource.
+     */
+    @Query("select storeManager from StoreManager storeManager")
+    @Cacheable(cacheNames = ALL_STORE_MANAGERS_CACHE)
+    List<StoreManager> findAllCached();
+}
@@ -1,7 +1,9 @@
 package com.example.intent.repository;
 
 import com.example.intent.domain.Store;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +12,13 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface StoreRepository extends JpaRepository<Store, UUID> {}
+public interface StoreRepository extends JpaRepository<Store, UUID> {
+    String ALL_STORES_CACHE = "allStores";
+
+    /**
+     * All the stores, for their listing; cached until a store is written through its REST resource.
+     */
+    @Query("select store from Store store")
+    @Cacheable(cacheNames = ALL_STORES_CACHE)
+    List<Store> findAllCached();
+}
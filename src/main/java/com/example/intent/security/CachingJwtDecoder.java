@@ -0,0 +1,71 @@
+package com.example.intent.security;
+
+import com.example.intent.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.cache.Cache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Decoder keeping the tokens it verified in a cache, so that a token presented again is not verified and parsed
+ * again.
+ * <p>
+ * The tokens are keyed by their SHA-256 digest, rather than kept in memory as they are, and a cached token is only
+ * used until it expires: the tokens which failed verification, or have no expiry, are not cached. The cache is
+ * bounded by its region, {@code application.cache.regions.verified-tokens}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String VERIFIED_TOKENS_CACHE = "verifiedTokens";
+
+    private final JwtDecoder delegate;
+
+    private final Cache cache;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Cache cache, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.metersService = metersService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Jwt cached = cache.get(key, Jwt.class);
+        if (cached != null) {
+            if (clock.instant().isBefore(cached.getExpiresAt())) {
+                metersService.trackTokenCacheHit();
+                return cached;
+            }
+            // Expired: the delegate decides whether it is still accepted, within its clock skew
+            cache.evict(key);
+        }
+        metersService.trackTokenCacheMiss();
+        Jwt jwt = delegate.decode(token);
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && clock.instant().isBefore(expiresAt)) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
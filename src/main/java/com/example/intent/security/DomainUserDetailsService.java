@@ -5,6 +5,10 @@ import com.example.intent.domain.User;
 import com.example.intent.repository.UserRepository;
 import java.util.*;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +22,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * The logins no user was found for are remembered for a while by the {@link UnknownUserCache}, and concurrent
+ * lookups of the same login share a single query.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
@@ -26,8 +33,16 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final UnknownUserCache unknownUserCache;
+
+    /**
+     * The lookups in progress, by {@link UnknownUserCache#key(String) key}.
+     */
+    private final ConcurrentMap<String, CompletableFuture<UserWithId>> lookups = new ConcurrentHashMap<>();
+
+    public DomainUserDetailsService(UserRepository userRepository, UnknownUserCache unknownUserCache) {
         this.userRepository = userRepository;
+        this.unknownUserCache = unknownUserCache;
     }
 
     @Override
@@ -35,21 +50,60 @@ public class DomainUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
+        if (unknownUserCache.isUnknown(login)) {
+            throw notFound(login);
+        }
+        String key = UnknownUserCache.key(login);
+        CompletableFuture<UserWithId> lookup = new CompletableFuture<>();
+        CompletableFuture<UserWithId> inProgress = lookups.putIfAbsent(key, lookup);
+        if (inProgress == null) {
+            try {
+                lookup.complete(find(login));
+            } catch (RuntimeException e) {
+                lookup.completeExceptionally(e);
+            } finally {
+                lookups.remove(key, lookup);
+            }
+        } else {
+            LOG.debug("Joining the lookup in progress of {}", login);
+            lookup = inProgress;
+        }
+        try {
+            // Each caller gets its own copy, as the credentials are erased once authenticated
+            return lookup.join().copy();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private UserWithId find(String login) {
+        long generation = unknownUserCache.generation();
+        Optional<User> user;
+        String lowercaseLogin = login;
         if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+            user = userRepository.findOneWithAuthoritiesByEmailIgnoreCase(login);
+        } else {
+            lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+            user = userRepository.findOneWithAuthoritiesByLogin(lowercaseLogin);
         }
+        if (user.isEmpty()) {
+            unknownUserCache.remember(login, generation);
+            throw notFound(login);
+        }
+        return createSpringSecurityUser(lowercaseLogin, user.get());
+    }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+    private static UsernameNotFoundException notFound(String login) {
+        if (new EmailValidator().isValid(login, null)) {
+            return new UsernameNotFoundException("User with email " + login + " was not found in the database");
+        }
+        return new UsernameNotFoundException("User " + login.toLowerCase(Locale.ENGLISH) + " was not found in the database");
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
+    private UserWithId createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
         }
@@ -69,6 +123,10 @@ public class DomainUserDetailsService implements UserDetailsService {
             return id;
         }
 
+        UserWithId copy() {
+            return new UserWithId(getUsername(), getPassword(), getAuthorities(), id);
+        }
+
         @Override
         public boolean equals(Object obj) {
             return super.equals(obj);
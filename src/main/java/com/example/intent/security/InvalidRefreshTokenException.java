@@ -0,0 +1,15 @@
+package com.example.intent.security;
+
+import org.springframework.security.authentication.BadCredentialsException;
+
+/**
+ * This exception is thrown when a refresh token is unknown, expired, already used or revoked.
+ */
+public class InvalidRefreshTokenException extends BadCredentialsException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
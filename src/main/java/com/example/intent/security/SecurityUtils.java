@@ -2,7 +2,9 @@ package com.example.intent.security;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -71,7 +73,18 @@ public final class SecurityUtils {
         return Optional.ofNullable(securityContext.getAuthentication())
             .filter(authentication -> authentication.getPrincipal() instanceof ClaimAccessor)
             .map(authentication -> (ClaimAccessor) authentication.getPrincipal())
-            .map(principal -> principal.getClaim(USER_ID_CLAIM));
+            .map(principal -> principal.getClaimAsString(USER_ID_CLAIM))
+            .map(UUID::fromString);
+    }
+
+    /**
+     * Get the authorities of the current user.
+     *
+     * @return the authorities of the current user, empty if there is none.
+     */
+    public static Set<String> getCurrentUserAuthorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? Set.of() : getAuthorities(authentication).collect(Collectors.toSet());
     }
 
     /**
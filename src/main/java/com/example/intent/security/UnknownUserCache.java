@@ -0,0 +1,100 @@
+package com.example.intent.security;
+
+import com.example.intent.repository.UserRepository;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers the logins and emails no user was found for, so that the failed logins of unknown users, such as
+ * credential stuffing bursts, do not reach the database.
+ * <p>
+ * The entries are bounded and expire quickly ({@code application.cache.regions.unknown-users}), and are forgotten
+ * when a user gets the login or email. A lookup which started before such a user was committed could still find
+ * nothing: each invalidation bumps a generation, and a lookup only remembers its result while the generation it
+ * started with is current.
+ */
+@Component
+public class UnknownUserCache {
+
+    private final Cache cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public UnknownUserCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(UserRepository.UNKNOWN_USERS_CACHE));
+    }
+
+    /**
+     * @param login a login or an email.
+     * @return whether no user was recently found for it.
+     */
+    public boolean isUnknown(String login) {
+        return cache.get(key(login)) != null;
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #remember(String, long)} by a lookup starting.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Remember that no user was found for a login or email, unless it was invalidated since the lookup started.
+     *
+     * @param login a login or an email.
+     * @param lookupGeneration the {@link #generation()} when the lookup started.
+     */
+    public void remember(String login, long lookupGeneration) {
+        if (generation.get() != lookupGeneration) {
+            return;
+        }
+        cache.put(key(login), Boolean.TRUE);
+        // An invalidation between the check and the put would not have seen the entry
+        if (generation.get() != lookupGeneration) {
+            cache.evict(key(login));
+        }
+    }
+
+    /**
+     * Forget the logins and emails of a user, now and once the current transaction commits: the lookups running
+     * until then do not see the user yet.
+     *
+     * @param logins the logins or emails, {@code null} ones being ignored.
+     */
+    public void forget(String... logins) {
+        invalidate(logins);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        invalidate(logins);
+                    }
+                }
+            );
+        }
+    }
+
+    private void invalidate(String... logins) {
+        generation.incrementAndGet();
+        for (String login : logins) {
+            if (login != null) {
+                cache.evict(key(login));
+            }
+        }
+    }
+
+    /**
+     * The key of a login or email: both are looked up ignoring case.
+     */
+    public static String key(String login) {
+        return login.toLowerCase(Locale.ENGLISH);
+    }
+}
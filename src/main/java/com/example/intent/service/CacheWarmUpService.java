@@ -0,0 +1,253 @@
+package com.example.intent.service;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.Article;
+import com.example.intent.domain.Coupon;
+import com.example.intent.domain.Store;
+import com.example.intent.domain.StoreManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service preloading the second level cache regions of the reference data at startup.
+ * <p>
+ * The ids of each configured region are read first, then the entities are loaded in chunks of {@code chunk-size},
+ * each chunk being a task of the async executor, so that the regions are filled in parallel. Entities are loaded
+ * with {@link CacheMode#PUT}: they are written to the cache without being looked up in it first.
+ * <p>
+ * The warm-up is {@link #isComplete() complete} once every chunk is loaded, or once {@code timeout} has elapsed;
+ * the readiness probe reports the application as ready only then.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    public static final String PROGRESS_METER_NAME = "cache.warmup.progress";
+    public static final String ENTITIES_METER_NAME = "cache.warmup.entities";
+    public static final String CHUNKS_METER_NAME = "cache.warmup.chunks";
+    public static final String DURATION_METER_NAME = "cache.warmup.duration";
+    public static final String REGION_DIMENSION = "region";
+    public static final String OUTCOME_DIMENSION = "outcome";
+
+    /**
+     * The entities which can be preloaded, by region name.
+     */
+    private static final Map<String, Class<?>> ENTITIES = Map.of(
+        "article",
+        Article.class,
+        "store",
+        Store.class,
+        "store-manager",
+        StoreManager.class,
+        "coupon",
+        Coupon.class
+    );
+
+    private final ApplicationProperties.Cache properties;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor executor;
+
+    private final MeterRegistry registry;
+
+    private final Map<String, RegionProgress> progress = new LinkedHashMap<>();
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private boolean started;
+
+    private volatile boolean abandoned;
+
+    public CacheWarmUpService(
+        ApplicationProperties applicationProperties,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor executor,
+        MeterRegistry registry
+    ) {
+        this.properties = applicationProperties.getCache();
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.executor = executor;
+        this.registry = registry;
+        if (properties.getWarmUp().isEnabled()) {
+            for (String region : properties.getWarmUp().getRegions()) {
+                if (!ENTITIES.containsKey(region)) {
+                    throw new IllegalArgumentException(
+                        "Cache region " + region + " cannot be warmed up, expected one of " + ENTITIES.keySet()
+                    );
+                }
+                RegionProgress regionProgress = new RegionProgress(region);
+                progress.put(region, regionProgress);
+                Gauge.builder(PROGRESS_METER_NAME, regionProgress, RegionProgress::ratio)
+                    .description("Share of the entities of a cache region loaded by the startup warm-up")
+                    .tag(REGION_DIMENSION, region)
+                    .register(registry);
+            }
+        } else {
+            completion.complete(null);
+        }
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        warmUp();
+    }
+
+    /**
+     * Start preloading the configured regions, if not started yet.
+     *
+     * @return the warm-up, completed when all the regions are loaded or when the timeout has elapsed.
+     */
+    public synchronized CompletableFuture<Void> warmUp() {
+        if (started || completion.isDone()) {
+            return completion;
+        }
+        started = true;
+        LOG.info("Warming up cache regions {}", progress.keySet());
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> regions = new ArrayList<>();
+        progress.values().forEach(regionProgress -> regions.add(warmUp(regionProgress)));
+        CompletableFuture.allOf(regions.toArray(CompletableFuture[]::new))
+            .orTimeout(properties.getWarmUp().getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .whenComplete((result, error) -> {
+                String outcome = "completed";
+                if (error instanceof TimeoutException) {
+                    // The chunks still queued are skipped, the running ones go on filling the cache
+                    abandoned = true;
+                    outcome = "timed-out";
+                    LOG.warn("Cache warm-up timed out after {}, reporting ready anyway", properties.getWarmUp().getTimeout());
+                } else if (error != null) {
+                    outcome = "failed";
+                    LOG.warn("Cache warm-up failed, reporting ready anyway: {}", error.toString());
+                } else {
+                    LOG.info("Cache warm-up completed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+                Timer.builder(DURATION_METER_NAME)
+                    .description("Time taken by the startup cache warm-up")
+                    .tag(OUTCOME_DIMENSION, outcome)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                completion.complete(null);
+            });
+        return completion;
+    }
+
+    /**
+     * @return whether the warm-up is over, because it completed, failed or timed out, or because it is disabled.
+     */
+    public boolean isComplete() {
+        return completion.isDone();
+    }
+
+    private CompletableFuture<Void> warmUp(RegionProgress regionProgress) {
+        Class<?> entityClass = ENTITIES.get(regionProgress.region);
+        int chunkSize = properties.getWarmUp().getChunkSize();
+        return CompletableFuture.supplyAsync(() -> findIds(regionProgress.region, entityClass), executor).thenCompose(ids -> {
+            regionProgress.total.set(ids.size());
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                chunks.add(CompletableFuture.runAsync(() -> load(regionProgress, entityClass, chunk), executor));
+            }
+            return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new));
+        });
+    }
+
+    private List<UUID> findIds(String region, Class<?> entityClass) {
+        return transactionTemplate.execute(status -> {
+            TypedQuery<UUID> query = entityManager.createQuery("select e.id from " + entityClass.getSimpleName() + " e", UUID.class);
+            ApplicationProperties.Cache.Region settings = properties.getRegions().get(region);
+            if (settings != null && settings.getMaxEntries() != null) {
+                // Loading more entities than the region holds would only evict the ones loaded first
+                query.setMaxResults(Math.toIntExact(Math.min(settings.getMaxEntries(), Integer.MAX_VALUE)));
+            }
+            return query.getResultList();
+        });
+    }
+
+    private void load(RegionProgress regionProgress, Class<?> entityClass, List<UUID> ids) {
+        if (abandoned) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                entityManager.unwrap(Session.class).byMultipleIds(entityClass).with(CacheMode.PUT).multiLoad(ids)
+            );
+            regionProgress.loaded.addAndGet(ids.size());
+            Counter.builder(ENTITIES_METER_NAME)
+                .description("Number of entities loaded by the startup cache warm-up")
+                .baseUnit("entities")
+                .tag(REGION_DIMENSION, regionProgress.region)
+                .register(registry)
+                .increment(ids.size());
+            chunkCounter(regionProgress.region, "loaded").increment();
+        } catch (RuntimeException e) {
+            // A failed chunk is only a colder cache, the other chunks are still worth loading
+            LOG.warn("Could not warm up {} entities of cache region {}: {}", ids.size(), regionProgress.region, e.toString());
+            chunkCounter(regionProgress.region, "failed").increment();
+        }
+    }
+
+    private Counter chunkCounter(String region, String outcome) {
+        return Counter.builder(CHUNKS_METER_NAME)
+            .description("Number of chunks processed by the startup cache warm-up")
+            .baseUnit("chunks")
+            .tag(REGION_DIMENSION, region)
+            .tag(OUTCOME_DIMENSION, outcome)
+            .register(registry);
+    }
+
+    private static final class RegionProgress {
+
+        private final String region;
+
+        /**
+         * Number of entities to load, or {@code -1} while their ids are not read yet.
+         */
+        private final AtomicLong total = new AtomicLong(-1);
+
+        private final AtomicLong loaded = new AtomicLong();
+
+        private RegionProgress(String region) {
+            this.region = region;
+        }
+
+        private double ratio() {
+            long totalCount = total.get();
+            if (totalCount <= 0) {
+                return totalCount == 0 ? 1.0 : 0.0;
+            }
+            return (double) loaded.get() / totalCount;
+        }
+    }
+}
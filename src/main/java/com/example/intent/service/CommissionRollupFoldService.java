@@ -0,0 +1,95 @@
+package com.example.intent.service;
+
+import com.example.intent.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service folding the commission deltas recorded by the {@code intent} triggers into the {@code commission_rollup}
+ * totals.
+ * <p>
+ * The writers of intents only append deltas to {@code commission_rollup_delta}, so that they never wait on each
+ * other for the rollup rows. The deltas are folded here, by a single node at a time, summed per rollup key and
+ * upserted in the order of the keys: the rollups lag behind the intents by about {@code fold-interval}.
+ */
+@Service
+public class CommissionRollupFoldService {
+
+    public static final String METER_NAME = "commission.rollup.folded";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommissionRollupFoldService.class);
+
+    /**
+     * Key of the transaction level advisory lock serializing the folds of the application instances.
+     */
+    private static final long LOCK_KEY = 0x726f6c6c7570L; // "rollup"
+
+    private static final String FOLD =
+        "with folded as (" +
+        "delete from commission_rollup_delta where id in (select id from commission_rollup_delta order by id limit ?) " +
+        "returning dimension, granularity, dimension_key, bucket_start, total_commission, intent_count), " +
+        "upserted as (" +
+        "insert into commission_rollup as r " +
+        "(dimension, granularity, dimension_key, bucket_start, total_commission, intent_count) " +
+        "select dimension, granularity, dimension_key, bucket_start, sum(total_commission), sum(intent_count) from folded " +
+        "group by dimension, granularity, dimension_key, bucket_start " +
+        "order by dimension, granularity, dimension_key, bucket_start " +
+        "on conflict (dimension, granularity, dimension_key, bucket_start) do update " +
+        "set total_commission = r.total_commission + excluded.total_commission, " +
+        "intent_count = r.intent_count + excluded.intent_count) " +
+        "select count(*) from folded";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Counter foldedCounter;
+
+    public CommissionRollupFoldService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+        this.foldedCounter = Counter.builder(METER_NAME)
+            .description("Number of commission deltas folded into the rollups")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Fold the recorded deltas into the rollups, batch after batch while the batches are full, each batch in its
+     * own transaction, by a single statement deleting the deltas and upserting their sums.
+     *
+     * @return the number of deltas folded.
+     */
+    @Scheduled(fixedDelayString = "${application.rollup.fold-interval:5s}")
+    public long fold() {
+        int batchSize = applicationProperties.getRollup().getFoldBatchSize();
+        long folded = 0;
+        long batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject("select pg_advisory_xact_lock(?)", Object.class, LOCK_KEY);
+                return jdbcTemplate.queryForObject(FOLD, Long.class, batchSize);
+            });
+            folded += batch;
+        } while (batch == batchSize);
+        foldedCounter.increment(folded);
+        if (folded > 0) {
+            LOG.debug("Folded {} commission deltas into the rollups", folded);
+        }
+        return folded;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.intent.service;
+
+public class IntentBufferFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IntentBufferFullException() {
+        super("The intent buffer is full!");
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.intent.service;
+
+import com.example.intent.domain.Intent;
+import com.example.intent.repository.IntentRepository;
+import com.example.intent.repository.IntentSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service streaming {@link Intent} rows out of the database, for reconciliation exports.
+ * <p>
+ * Rows are read as {@link IntentSummary} projections through a forward-only cursor and written as soon as
+ * they are read: no entity is managed, and memory use does not depend on the number of exported rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class IntentExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntentExportService.class);
+
+    static final Instant MIN_CREATED_TIME = Instant.EPOCH;
+
+    static final Instant MAX_CREATED_TIME = Instant.parse("9999-12-31T23:59:59Z");
+
+    static final String[] COLUMNS = {
+        "id",
+        "commission",
+        "createdTime",
+        "createdBy",
+        "updatedTime",
+        "updatedBy",
+        "articleId",
+        "userId",
+        "storeManagerId",
+        "storeId",
+        "couponId",
+        "rdCheckoutId",
+    };
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return name().toLowerCase();
+        }
+
+        public static Optional<Format> fromName(String name) {
+            return Arrays.stream(values()).filter(format -> format.name().equalsIgnoreCase(name)).findFirst();
+        }
+    }
+
+    private final IntentRepository intentRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public IntentExportService(IntentRepository intentRepository, ObjectMapper objectMapper) {
+        this.intentRepository = intentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the intents created in {@code [from, to)} to the given stream, oldest first.
+     *
+     * @param format the output format.
+     * @param from the lower bound of the creation time, inclusive, or {@code null} for no lower bound.
+     * @param to the upper bound of the creation time, exclusive, or {@code null} for no upper bound.
+     * @param out the stream to write to; it is flushed but not closed.
+     * @return the number of exported intents.
+     * @throws IOException if the output stream cannot be written to.
+     */
+    public long export(Format format, Instant from, Instant to, OutputStream out) throws IOException {
+        LOG.debug("Request to export Intents created in [{}, {}) as {}", from, to, format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (
+            Stream<IntentSummary> intents = intentRepository.streamAllByCreatedTimeRange(
+                from != null ? from : MIN_CREATED_TIME,
+                to != null ? to : MAX_CREATED_TIME
+            )
+        ) {
+            return write(intents, format, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    long write(Stream<IntentSummary> intents, Format format, Writer writer) throws IOException {
+        long count;
+        if (format == Format.CSV) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+            count = writeEach(intents, intent -> writeCsvRow(writer, intent));
+        } else {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+            // One object per line, each line terminated by a new line
+            generator.setRootValueSeparator(null);
+            count = writeEach(intents, intent -> writeJsonRow(generator, intent));
+            generator.flush();
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static long writeEach(Stream<IntentSummary> intents, Consumer<IntentSummary> rowWriter) {
+        long[] count = { 0 };
+        intents.forEachOrdered(intent -> {
+            rowWriter.accept(intent);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static void writeJsonRow(JsonGenerator generator, IntentSummary intent) {
+        try {
+            generator.writeStartObject();
+            Object[] values = values(intent);
+            for (int i = 0; i < COLUMNS.length; i++) {
+                generator.writeFieldName(COLUMNS[i]);
+                if (values[i] == null) {
+                    generator.writeNull();
+                } else if (values[i] instanceof BigDecimal number) {
+                    generator.writeNumber(number);
+                } else {
+                    generator.writeString(values[i].toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, IntentSummary intent) {
+        try {
+            Object[] values = values(intent);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escapeCsv(values[i] instanceof BigDecimal number ? number.toPlainString() : values[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * The column values of an intent, in {@link #COLUMNS} order.
+     */
+    private static Object[] values(IntentSummary intent) {
+        return new Object[] {
+            intent.id(),
+            intent.commission(),
+            intent.createdTime(),
+            intent.createdBy(),
+            intent.updatedTime(),
+            intent.updatedBy(),
+            intent.articleId(),
+            intent.userId(),
+            intent.storeManagerId(),
+            intent.storeId(),
+            intent.couponId(),
+            intent.rdCheckoutId(),
+        };
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.intent.service;
+
+import com.example.intent.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the monthly partitions of the {@code intent} table, named {@code intent_pYYYY_MM}.
+ * <p>
+ * The partitions of the coming months are created ahead of time, so that new intents never land in the
+ * {@code intent_default} partition. The partitions older than the retention are detached, which is a catalog
+ * change and not a delete: the commission rollups keep their totals, and the detached tables are moved to the
+ * archive schema, where they can be dumped or dropped.
+ * <p>
+ * The creation times come from the clients, so intents can land in {@code intent_default} for months which have no
+ * partition yet; PostgreSQL refuses to create the partition of a month while the default one holds some of its rows,
+ * so they are moved to the new partition as it is created, or archived when the month is past the retention. The
+ * outcome of each step is counted by the {@value #METER_NAME} meter, for the failures to be alerted on.
+ */
+@Service
+public class IntentPartitionService {
+
+    public static final String METER_NAME = "intent.partition.maintenance";
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntentPartitionService.class);
+
+    static final String PARENT_TABLE = "intent";
+
+    static final String DEFAULT_PARTITION = "intent_default";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("intent_p(\\d{4})_(\\d{2})");
+
+    private static final List<String> OPERATIONS = List.of("create", "detach", "archive");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    /**
+     * Key of the transaction level advisory lock serializing the maintenance of the application instances.
+     */
+    private static final long LOCK_KEY = 0x696e74656e74L; // "intent"
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<String, Counter> succeededCounters;
+
+    private final Map<String, Counter> failedCounters;
+
+    public IntentPartitionService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+        this.succeededCounters = new HashMap<>();
+        this.failedCounters = new HashMap<>();
+        for (String operation : OPERATIONS) {
+            succeededCounters.put(operation, counter(meterRegistry, operation, "success"));
+            failedCounters.put(operation, counter(meterRegistry, operation, "failure"));
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String operation, String result) {
+        return Counter.builder(METER_NAME)
+            .description("Number of intent partitions created, detached or archived from the default one, and of the failed attempts")
+            .tag("operation", operation)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Partitions are maintained every night at 01:30 by default.
+     */
+    @Scheduled(cron = "${application.partitioning.cron:0 30 1 * * ?}")
+    public void maintainPartitions() {
+        if (applicationProperties.getPartitioning().isEnabled()) {
+            maintainPartitions(YearMonth.now(ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Create the partitions missing from {@code current} to {@code monthsAhead} months after it, and detach the
+     * partitions older than {@code retentionMonths} months before it.
+     * <p>
+     * The months of the intents found in the default partition are handled too: a partition is created for each
+     * of them which is kept, and the intents of the others are archived, as their partition would have been.
+     * <p>
+     * Each partition is created, detached or archived in its own short transaction, so that a failure only skips
+     * that partition, and the lock on the {@code intent} table is not held for the whole run.
+     *
+     * @param current the current month, in UTC as the creation times are.
+     */
+    public void maintainPartitions(YearMonth current) {
+        ApplicationProperties.Partitioning partitioning = applicationProperties.getPartitioning();
+        YearMonth oldestKept = partitioning.getRetentionMonths() > 0 ? current.minusMonths(partitioning.getRetentionMonths()) : null;
+        List<YearMonth> existing = findPartitionMonths();
+        SortedSet<YearMonth> missing = new TreeSet<>();
+        for (int i = 0; i <= partitioning.getMonthsAhead(); i++) {
+            missing.add(current.plusMonths(i));
+        }
+        for (YearMonth month : findDefaultPartitionMonths()) {
+            if (oldestKept != null && month.isBefore(oldestKept)) {
+                inLockedTransaction("archive", month, () -> archiveDefaultPartitionMonth(month, partitioning.getArchiveSchema()));
+            } else {
+                missing.add(month);
+            }
+        }
+        missing.removeAll(existing);
+        missing.forEach(month -> inLockedTransaction("create", month, () -> createPartition(month)));
+        if (oldestKept != null) {
+            existing
+                .stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .forEach(month -> inLockedTransaction("detach", month, () -> detachPartition(month, partitioning.getArchiveSchema())));
+        }
+    }
+
+    /**
+     * Find the months which have a partition attached to the {@code intent} table.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        List<String> names = jdbcTemplate.queryForList(
+            "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid where i.inhparent = ?::regclass",
+            String.class,
+            PARENT_TABLE
+        );
+        List<YearMonth> months = new ArrayList<>(names.size());
+        names.forEach(name -> partitionMonth(name).ifPresent(months::add));
+        months.sort(null);
+        return months;
+    }
+
+    /**
+     * Find the months of the intents stored in the default partition, which have no partition of their own.
+     */
+    public List<YearMonth> findDefaultPartitionMonths() {
+        return jdbcTemplate
+            .queryForList("select distinct to_char(created_time, 'YYYY-MM') from " + DEFAULT_PARTITION, String.class)
+            .stream()
+            .map(YearMonth::parse)
+            .sorted()
+            .toList();
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    static Optional<YearMonth> partitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        String create =
+            "create table if not exists " + partition + " partition of " + PARENT_TABLE +
+            " for values from (" + from(month) + ") to (" + to(month) + ")";
+        // Creating the partition locks intent out anyway: writes are blocked from the check on, not to miss a row
+        jdbcTemplate.execute("lock table " + PARENT_TABLE + " in share row exclusive mode");
+        Boolean misplaced = jdbcTemplate.queryForObject(
+            "select exists (select 1 from " + DEFAULT_PARTITION + range(month) + ")",
+            Boolean.class
+        );
+        if (!Boolean.TRUE.equals(misplaced)) {
+            jdbcTemplate.execute(create);
+            LOG.info("Created partition {} of {}", partition, PARENT_TABLE);
+            return;
+        }
+        int moved = moveOutOfDefaultPartition(month, create, partition);
+        LOG.info("Created partition {} of {}, moving {} intents out of {}", partition, PARENT_TABLE, moved, DEFAULT_PARTITION);
+    }
+
+    /**
+     * Move the intents of a month past the retention out of the default partition, to a table named as its
+     * partition in the archive schema, as if the partition had been detached; the ids of the intents are freed.
+     */
+    private void archiveDefaultPartitionMonth(YearMonth month, String archiveSchema) {
+        String table = partitionName(month);
+        if (archiveSchema != null && !archiveSchema.isBlank()) {
+            String schema = '"' + archiveSchema.replace("\"", "\"\"") + '"';
+            jdbcTemplate.execute("create schema if not exists " + schema);
+            table = schema + "." + table;
+        }
+        jdbcTemplate.execute("lock table " + PARENT_TABLE + " in share row exclusive mode");
+        // Appended to the detached partition of the month when there is one
+        String create = "create table if not exists " + table + " (like " + PARENT_TABLE + " including all)";
+        int moved = moveOutOfDefaultPartition(month, create, table);
+        deleteKeys(month);
+        LOG.info("Archived {} intents of {} out of {} to {}", moved, month, DEFAULT_PARTITION, table);
+    }
+
+    /**
+     * Move the intents of a month out of the default partition to a table created by {@code create}.
+     * <p>
+     * The default partition is detached while the rows are moved, intent being locked until the commit. The rows are
+     * written to the tables directly, which fires none of the statement triggers of intent: the commission rollups
+     * are left as they are, and the intent keys keep their creation times.
+     */
+    private int moveOutOfDefaultPartition(YearMonth month, String create, String table) {
+        jdbcTemplate.execute("alter table " + PARENT_TABLE + " detach partition " + DEFAULT_PARTITION);
+        jdbcTemplate.execute(create);
+        int moved = jdbcTemplate.update(
+            "with moved as (delete from " + DEFAULT_PARTITION + range(month) + " returning *) insert into " + table + " select * from moved"
+        );
+        jdbcTemplate.execute("alter table " + PARENT_TABLE + " attach partition " + DEFAULT_PARTITION + " default");
+        return moved;
+    }
+
+    // The bounds are creation times in UTC, stored as timestamps without time zone
+    private static String from(YearMonth month) {
+        return "'" + month.atDay(1) + " 00:00:00'";
+    }
+
+    private static String to(YearMonth month) {
+        return "'" + month.plusMonths(1).atDay(1) + " 00:00:00'";
+    }
+
+    private static String range(YearMonth month) {
+        return " where created_time >= " + from(month) + " and created_time < " + to(month);
+    }
+
+    /**
+     * Free the ids of the intents of a month no longer in the {@code intent} table: they are no longer found by id.
+     */
+    private void deleteKeys(YearMonth month) {
+        jdbcTemplate.update("delete from intent_key" + range(month));
+    }
+
+    private void detachPartition(YearMonth month, String archiveSchema) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("alter table " + PARENT_TABLE + " detach partition " + partition);
+        deleteKeys(month);
+        if (archiveSchema != null && !archiveSchema.isBlank()) {
+            String schema = '"' + archiveSchema.replace("\"", "\"\"") + '"';
+            jdbcTemplate.execute("create schema if not exists " + schema);
+            jdbcTemplate.execute("alter table " + partition + " set schema " + schema);
+        }
+        LOG.info("Detached partition {} of {}", partition, PARENT_TABLE);
+    }
+
+    private void inLockedTransaction(String operation, YearMonth month, Runnable action) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("select pg_advisory_xact_lock(?)", Object.class, LOCK_KEY);
+                action.run();
+            });
+            succeededCounters.get(operation).increment();
+        } catch (DataAccessException e) {
+            failedCounters.get(operation).increment();
+            LOG.error("Could not {} the partition of {} for {}: {}", operation, PARENT_TABLE, month, e.getMessage());
+        }
+    }
+}
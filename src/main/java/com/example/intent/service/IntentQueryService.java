@@ -0,0 +1,129 @@
+package com.example.intent.service;
+
+import com.example.intent.domain.*; // for static metamodels
+import com.example.intent.domain.Intent;
+import com.example.intent.repository.IntentFetchProfile;
+import com.example.intent.repository.IntentRepository;
+import com.example.intent.repository.IntentSummary;
+import com.example.intent.service.criteria.IntentCriteria;
+import com.example.intent.service.criteria.IntentCursor;
+import com.example.intent.service.dto.IntentDTO;
+import com.example.intent.service.mapper.IntentMapper;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Intent} entities in the database.
+ * The main input is a {@link IntentCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * <p>
+ * Results are paged with a keyset (seek) on {@code created_time DESC, id DESC} instead of an offset,
+ * so reading any page costs the same whatever the size of the {@code intent} table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class IntentQueryService extends QueryService<Intent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntentQueryService.class);
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc(Intent_.CREATED_TIME), Sort.Order.desc(Intent_.ID));
+
+    private final IntentRepository intentRepository;
+
+    private final IntentMapper intentMapper;
+
+    public IntentQueryService(IntentRepository intentRepository, IntentMapper intentMapper) {
+        this.intentRepository = intentRepository;
+        this.intentMapper = intentMapper;
+    }
+
+    /**
+     * Return a {@link Slice} of {@link IntentDTO} which matches the criteria from the database.
+     * <p>
+     * With the {@link IntentFetchProfile#SUMMARY} profile, the rows are read as {@link IntentSummary} projections:
+     * only the intent columns are selected, and no managed entity is built. With the {@link IntentFetchProfile#FULL}
+     * profile, the associations are fetched in the same query as the intents.
+     *
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The keyset position to resume from, or {@code null} for the first slice.
+     * @param size The maximum number of entities to return.
+     * @param profile The fetch profile, telling which associations are loaded.
+     * @return the matching intents, newest first.
+     */
+    public Slice<IntentDTO> findByCriteria(IntentCriteria criteria, IntentCursor after, int size, IntentFetchProfile profile) {
+        LOG.debug("find by criteria : {}, after : {}, size : {}, profile : {}", criteria, after, size, profile);
+        final Specification<Intent> specification = createSpecification(criteria).and(seekAfter(after));
+        // Read one extra row to know if there is a next slice, without the cost of a count query
+        List<IntentDTO> content =
+            switch (profile) {
+                case SUMMARY -> intentRepository
+                    .findAllSummaries(specification, KEYSET_SORT, size + 1)
+                    .stream()
+                    .map(intentMapper::toDto)
+                    .toList();
+                case FULL -> intentRepository
+                    .findBy(specification, query ->
+                        query.sortBy(KEYSET_SORT).limit(size + 1).project(profile.getAttributePaths()).all()
+                    )
+                    .stream()
+                    .map(intentMapper::toFullDto)
+                    .toList();
+            };
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, PageRequest.ofSize(size).withSort(KEYSET_SORT), hasNext);
+    }
+
+    /**
+     * Function to convert {@link IntentCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Intent> createSpecification(IntentCriteria criteria) {
+        Specification<Intent> specification = Specification.where(null);
+        if (criteria != null) {
+            // Associations are filtered on their foreign key column, without joining the referenced table
+            specification = Specification.allOf(
+                buildSpecification(criteria.getId(), Intent_.id),
+                buildRangeSpecification(criteria.getCommission(), Intent_.commission),
+                buildRangeSpecification(criteria.getCreatedTime(), Intent_.createdTime),
+                buildStringSpecification(criteria.getCreatedBy(), Intent_.createdBy),
+                buildRangeSpecification(criteria.getUpdatedTime(), Intent_.updatedTime),
+                buildStringSpecification(criteria.getUpdatedBy(), Intent_.updatedBy),
+                buildSpecification(criteria.getArticleId(), root -> root.get(Intent_.article).get(Article_.id)),
+                buildSpecification(criteria.getUserId(), root -> root.get(Intent_.user).get(User_.id)),
+                buildSpecification(criteria.getStoreManagerId(), root -> root.get(Intent_.storeManager).get(StoreManager_.id)),
+                buildSpecification(criteria.getStoreId(), root -> root.get(Intent_.store).get(Store_.id)),
+                buildSpecification(criteria.getCouponId(), root -> root.get(Intent_.coupon).get(Coupon_.id)),
+                buildSpecification(criteria.getRdCheckoutId(), root -> root.get(Intent_.rdCheckout).get(RDCheckout_.id))
+            );
+        }
+        return specification;
+    }
+
+    /**
+     * Seek predicate for {@code (created_time, id) < (:createdTime, :id)}, expanded so that the leading
+     * {@code created_time <= :createdTime} bound can drive an index range scan.
+     */
+    private Specification<Intent> seekAfter(IntentCursor after) {
+        if (after == null) {
+            return null;
+        }
+        return (root, query, cb) ->
+            cb.and(
+                cb.lessThanOrEqualTo(root.get(Intent_.createdTime), after.getCreatedTime()),
+                cb.or(
+                    cb.lessThan(root.get(Intent_.createdTime), after.getCreatedTime()),
+                    cb.lessThan(root.get(Intent_.id), after.getId())
+                )
+            );
+    }
+}
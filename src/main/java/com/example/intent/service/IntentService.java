@@ -0,0 +1,219 @@
+package com.example.intent.service;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.Intent;
+import com.example.intent.repository.IntentFetchProfile;
+import com.example.intent.repository.IntentRepository;
+import com.example.intent.service.dto.IntentBulkResultDTO;
+import com.example.intent.service.dto.IntentBulkResultDTO.ItemResult;
+import com.example.intent.service.dto.IntentDTO;
+import com.example.intent.service.mapper.IntentMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for managing {@link Intent}.
+ */
+@Service
+@Transactional
+public class IntentService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntentService.class);
+
+    private final IntentRepository intentRepository;
+
+    private final IntentMapper intentMapper;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final ApplicationProperties applicationProperties;
+
+    public IntentService(
+        IntentRepository intentRepository,
+        IntentMapper intentMapper,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.intentRepository = intentRepository;
+        this.intentMapper = intentMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Save a intent.
+     *
+     * @param intentDTO the entity to save.
+     * @return the persisted entity.
+     */
+    public IntentDTO save(IntentDTO intentDTO) {
+        LOG.debug("Request to save Intent : {}", intentDTO);
+        Intent intent = intentMapper.toEntity(intentDTO);
+        intent = intentRepository.save(intent);
+        return intentMapper.toDto(intent);
+    }
+
+    /**
+     * Update a intent, in a single statement.
+     *
+     * @param intentDTO the entity to save.
+     * @param expectedVersion the version the intent must still have, or {@code null} to update it whatever its version.
+     * @return the persisted entity, or empty if there is no intent with that id and version.
+     */
+    public Optional<IntentDTO> update(IntentDTO intentDTO, Long expectedVersion) {
+        LOG.debug("Request to update Intent : {}, version : {}", intentDTO, expectedVersion);
+        return intentRepository.updateIfVersion(intentMapper.toSummary(intentDTO), expectedVersion).map(intentMapper::toDto);
+    }
+
+    /**
+     * Partially update a intent, in a single statement.
+     *
+     * @param intentDTO the entity to update partially.
+     * @param expectedVersion the version the intent must still have, or {@code null} to update it whatever its version.
+     * @return the persisted entity, or empty if there is no intent with that id and version.
+     */
+    public Optional<IntentDTO> partialUpdate(IntentDTO intentDTO, Long expectedVersion) {
+        LOG.debug("Request to partially update Intent : {}, version : {}", intentDTO, expectedVersion);
+        return intentRepository.patchIfVersion(intentMapper.toSummary(intentDTO), expectedVersion).map(intentMapper::toDto);
+    }
+
+    /**
+     * Get one intent by id.
+     *
+     * @param id the id of the entity.
+     * @param profile the fetch profile, telling which associations are loaded.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<IntentDTO> findOne(UUID id, IntentFetchProfile profile) {
+        LOG.debug("Request to get Intent : {}, profile : {}", id, profile);
+        return switch (profile) {
+            case SUMMARY -> intentRepository.findById(id).map(intentMapper::toDto);
+            case FULL -> intentRepository.findOneWithEagerRelationships(id).map(intentMapper::toFullDto);
+        };
+    }
+
+    /**
+     * Delete the intent by id.
+     *
+     * @param id the id of the entity.
+     */
+    public void delete(UUID id) {
+        LOG.debug("Request to delete Intent : {}", id);
+        intentRepository.deleteById(id);
+    }
+
+    /**
+     * Create many intents at once.
+     * <p>
+     * All the intents are validated first. The valid ones are then written in chunks, one transaction per
+     * chunk, so that the inserts of a chunk go to the database as JDBC batches. When a chunk is refused by
+     * the database, its intents are retried one by one so that only the offending ones are reported as failed.
+     *
+     * @param intentDTOs the intents to create, none of them having an id.
+     * @return the outcome of each intent, in request order.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public IntentBulkResultDTO createAll(List<IntentDTO> intentDTOs) {
+        LOG.debug("Request to bulk create {} Intents", intentDTOs.size());
+        ItemResult[] results = new ItemResult[intentDTOs.size()];
+        Intent[] intents = new Intent[intentDTOs.size()];
+        List<Integer> valid = new ArrayList<>(intentDTOs.size());
+        for (int index = 0; index < intentDTOs.size(); index++) {
+            List<String> errors = validate(intentDTOs.get(index));
+            if (errors.isEmpty()) {
+                intents[index] = intentMapper.toEntity(intentDTOs.get(index));
+                valid.add(index);
+            } else {
+                results[index] = ItemResult.invalid(index, errors);
+            }
+        }
+
+        int chunkSize = applicationProperties.getIngestion().getBulk().getChunkSize();
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(chunk.stream().map(index -> intents[index]).toList()));
+                chunk.forEach(index -> results[index] = ItemResult.created(index, intents[index].getId()));
+            } catch (DataAccessException | PersistenceException | TransactionException e) {
+                LOG.warn("Bulk chunk of {} Intents was refused, retrying them one by one: {}", chunk.size(), e.getMessage());
+                chunk.forEach(index -> results[index] = createOne(index, intents[index]));
+            }
+        }
+        return new IntentBulkResultDTO(Arrays.asList(results));
+    }
+
+    private List<String> validate(IntentDTO intentDTO) {
+        if (intentDTO == null) {
+            return List.of("intent must not be null");
+        }
+        List<String> errors = new ArrayList<>();
+        if (intentDTO.getId() != null) {
+            errors.add("A new intent cannot already have an ID");
+        }
+        Set<ConstraintViolation<IntentDTO>> violations = validator.validate(intentDTO);
+        violations.forEach(violation -> errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        return errors;
+    }
+
+    private ItemResult createOne(int index, Intent intent) {
+        // The id generated during the rolled back attempt must not be reused
+        intent.setId(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(List.of(intent)));
+            return ItemResult.created(index, intent.getId());
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            intent.setId(null);
+            return ItemResult.failed(index, describe(e));
+        }
+    }
+
+    private void persist(List<Intent> chunk) {
+        Session session = entityManager.unwrap(Session.class);
+        // Bulk loads would otherwise evict the hot entries of the second level cache
+        session.setCacheMode(CacheMode.IGNORE);
+        chunk.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException constraintViolation && constraintViolation.getConstraintName() != null) {
+                return "Constraint violation: " + constraintViolation.getConstraintName();
+            }
+            cause = cause.getCause();
+        }
+        return NestedExceptionUtils.getMostSpecificCause(e).getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.intent.service;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.service.dto.IntentBulkResultDTO;
+import com.example.intent.service.dto.IntentBulkResultDTO.ItemResult;
+import com.example.intent.service.dto.IntentDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind buffer for the creation of {@link IntentDTO intents}.
+ * <p>
+ * Accepted intents are queued in a bounded buffer, which a single writer thread flushes as group commits through
+ * {@link IntentService#createAll(List)}: a batch is written when it reaches {@code max-batch-size} intents, or when
+ * its first intent has waited {@code max-delay}. Only the writer holds a database connection, whatever the number
+ * of requests waiting for their batch.
+ * <p>
+ * The future returned by {@link #submit(IntentDTO)} completes once the batch holding the intent is committed, so
+ * an acknowledged intent is durable. Intents still queued when the application stops are flushed before the
+ * database connections are closed.
+ */
+@Service
+public class IntentWriteBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntentWriteBuffer.class);
+
+    public static final String DEPTH_METER_NAME = "intent.buffer.depth";
+    public static final String FLUSH_METER_NAME = "intent.buffer.flush";
+    public static final String BATCH_SIZE_METER_NAME = "intent.buffer.batch.size";
+    public static final String REJECTED_METER_NAME = "intent.buffer.rejected";
+
+    /**
+     * How often a waiting writer checks whether the buffer is stopping.
+     */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final IntentService intentService;
+
+    private final ApplicationProperties.Ingestion.Buffer properties;
+
+    private final BlockingQueue<PendingIntent> queue;
+
+    private final Timer flushTimer;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final Counter rejectedCounter;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public IntentWriteBuffer(IntentService intentService, ApplicationProperties applicationProperties, MeterRegistry registry) {
+        this.intentService = intentService;
+        this.properties = applicationProperties.getIngestion().getBuffer();
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        Gauge.builder(DEPTH_METER_NAME, queue, BlockingQueue::size)
+            .description("Number of intents waiting in the write buffer")
+            .baseUnit("intents")
+            .register(registry);
+        this.flushTimer = Timer.builder(FLUSH_METER_NAME)
+            .description("Time taken to commit a batch of buffered intents")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.batchSizeSummary = DistributionSummary.builder(BATCH_SIZE_METER_NAME)
+            .description("Number of intents written per group commit")
+            .baseUnit("intents")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.rejectedCounter = Counter.builder(REJECTED_METER_NAME)
+            .description("Number of intents refused because the write buffer was full")
+            .baseUnit("intents")
+            .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "intent-write-buffer");
+        writer.setDaemon(true);
+        writer.start();
+        LOG.info(
+            "Intent write buffer started, with a capacity of {} and batches of up to {} intents or {}",
+            properties.getCapacity(),
+            properties.getMaxBatchSize(),
+            properties.getMaxDelay()
+        );
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(properties.getAckTimeout().toMillis());
+        // Intents accepted while the writer was finishing are refused, rather than left waiting forever
+        List<PendingIntent> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        stranded.forEach(pending -> pending.acknowledgement().completeExceptionally(new IntentBufferFullException()));
+        LOG.info("Intent write buffer stopped");
+    }
+
+    /**
+     * @return whether the intents should be created through this buffer.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Queue an intent for creation.
+     *
+     * @param intentDTO the intent to create.
+     * @return the acknowledgement, completed with the outcome of the intent once its batch is committed.
+     * @throws IntentBufferFullException if there is still no room in the buffer after {@code offer-timeout}.
+     * @throws InterruptedException if interrupted while waiting for room in the buffer.
+     */
+    public CompletableFuture<ItemResult> submit(IntentDTO intentDTO) throws InterruptedException {
+        PendingIntent pending = new PendingIntent(intentDTO, new CompletableFuture<>());
+        if (!running || !queue.offer(pending, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+            rejectedCounter.increment();
+            throw new IntentBufferFullException();
+        }
+        return pending.acknowledgement();
+    }
+
+    private void run() {
+        List<PendingIntent> batch = new ArrayList<>(properties.getMaxBatchSize());
+        boolean interrupted = false;
+        while (running && !interrupted) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // The intents already collected are still written, with the interrupt flag cleared
+                interrupted = true;
+            }
+            flush(batch);
+        }
+        while (queue.drainTo(batch, properties.getMaxBatchSize()) > 0) {
+            flush(batch);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wait for a first intent, then for the batch to fill up, at most until the first intent has waited
+     * {@code max-delay} or the buffer is stopping.
+     */
+    private void collect(List<PendingIntent> batch) throws InterruptedException {
+        PendingIntent first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        int maxBatchSize = properties.getMaxBatchSize();
+        while (running) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingIntent next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void flush(List<PendingIntent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizeSummary.record(batch.size());
+        try {
+            IntentBulkResultDTO result = flushTimer.record(() ->
+                intentService.createAll(batch.stream().map(PendingIntent::intentDTO).toList())
+            );
+            result.getItems().forEach(item -> batch.get(item.getIndex()).acknowledgement().complete(item));
+        } catch (RuntimeException e) {
+            LOG.error("Could not write a batch of {} buffered intents", batch.size(), e);
+            batch.forEach(pending -> pending.acknowledgement().completeExceptionally(e));
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private record PendingIntent(IntentDTO intentDTO, CompletableFuture<ItemResult> acknowledgement) {}
+}
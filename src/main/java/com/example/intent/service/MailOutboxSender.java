@@ -0,0 +1,276 @@
+package com.example.intent.service;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.OutgoingMail;
+import com.example.intent.repository.OutgoingMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service sending the emails of the outbox, by batches of {@code application.mail.outbox.batch-size}.
+ * <p>
+ * A batch is claimed in a short transaction, which pushes its next attempt back by the {@code lease}: the senders of
+ * the other nodes skip it, unless its sender stopped before completing it. It is then sent over a single SMTP
+ * connection, outside of any transaction, so that a slow mail server holds neither a database connection nor row
+ * locks, and completed in a second short transaction: the emails sent are removed from the outbox, and the ones the
+ * server did not accept are attempted again later, with an exponential backoff, until they are given up after
+ * {@code max-attempts}. An email is only sent twice if its sender stopped, or outlived the lease, after sending it.
+ */
+@Service
+public class MailOutboxSender {
+
+    public static final String METER_NAME = "mail.outbox";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxSender.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutgoingMailRepository outgoingMailRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor mailExecutor;
+
+    private final Clock clock;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter abandonedCounter;
+
+    private final AtomicBoolean sendRequested = new AtomicBoolean();
+
+    public MailOutboxSender(
+        OutgoingMailRepository outgoingMailRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("mailExecutor") Executor mailExecutor,
+        MeterRegistry meterRegistry
+    ) {
+        this(
+            outgoingMailRepository,
+            javaMailSender,
+            jHipsterProperties,
+            applicationProperties,
+            transactionManager,
+            mailExecutor,
+            meterRegistry,
+            Clock.systemUTC()
+        );
+    }
+
+    MailOutboxSender(
+        OutgoingMailRepository outgoingMailRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        Executor mailExecutor,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.outgoingMailRepository = outgoingMailRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        // Also run right after the commit of an email, while the committed transaction is still bound: each step
+        // gets a transaction of its own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mailExecutor = mailExecutor;
+        this.clock = clock;
+        this.sentCounter = counter(meterRegistry, "sent");
+        this.retriedCounter = counter(meterRegistry, "retried");
+        this.abandonedCounter = counter(meterRegistry, "abandoned");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METER_NAME)
+            .description("Number of emails of the outbox sent, to be attempted again, or given up")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Send the emails due on the mail executor, unless a run is already waiting for it. The emails not sent then,
+     * the executor being full, are sent by the next scheduled run.
+     * <p>
+     * The waiting run is forgotten by any run, the scheduled ones included: a run the executor dropped for a newer
+     * task does not keep the next emails waiting for the next restart.
+     */
+    public void requestSend() {
+        if (!sendRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            mailExecutor.execute(this::sendPendingEmails);
+        } catch (RejectedExecutionException e) {
+            sendRequested.set(false);
+            LOG.debug("The mail executor is full, the emails are left to the next run of the sender");
+        }
+    }
+
+    /**
+     * Send the emails due, batch after batch until the outbox has no full batch due, or a batch could not be sent at
+     * all, the mail server being unavailable.
+     *
+     * @return the number of emails sent.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.outbox.poll-interval:30s}")
+    public int sendPendingEmails() {
+        sendRequested.set(false);
+        int batchSize = applicationProperties.getMail().getOutbox().getBatchSize();
+        int sent = 0;
+        BatchResult result;
+        do {
+            result = sendBatch(batchSize);
+            sent += result.sent();
+        } while (result.attempted() == batchSize && result.sent() > 0);
+        return sent;
+    }
+
+    private BatchResult sendBatch(int batchSize) {
+        List<OutgoingMail> due = transactionTemplate.execute(status -> claim(batchSize));
+        if (due.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        // In the order of the outbox; the messages are compared by identity
+        Map<MimeMessage, OutgoingMail> mailsByMessage = new LinkedHashMap<>();
+        Map<OutgoingMail, Exception> failures = new IdentityHashMap<>();
+        for (OutgoingMail mail : due) {
+            try {
+                mailsByMessage.put(toMimeMessage(mail), mail);
+            } catch (MessagingException | MailException e) {
+                failures.put(mail, e);
+            }
+        }
+        if (!mailsByMessage.isEmpty()) {
+            try {
+                javaMailSender.send(mailsByMessage.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                Map<Object, Exception> failedMessages = e.getFailedMessages();
+                if (failedMessages == null || failedMessages.isEmpty()) {
+                    mailsByMessage.values().forEach(mail -> failures.put(mail, e));
+                } else {
+                    failedMessages.forEach((message, exception) -> failures.put(mailsByMessage.get(message), exception));
+                }
+            } catch (MailException e) {
+                mailsByMessage.values().forEach(mail -> failures.put(mail, e));
+            }
+        }
+        List<UUID> sent = new ArrayList<>();
+        for (OutgoingMail mail : due) {
+            if (!failures.containsKey(mail)) {
+                sent.add(mail.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outgoingMailRepository.deleteAllByIdInBatch(sent);
+            }
+            failures.forEach(this::scheduleRetry);
+        });
+        sentCounter.increment(sent.size());
+        LOG.debug("Sent {} emails of the outbox, {} to be attempted again", sent.size(), failures.size());
+        return new BatchResult(due.size(), sent.size());
+    }
+
+    /**
+     * Lock the emails due, and push their next attempt back by the lease, for the other senders to skip them.
+     */
+    private List<OutgoingMail> claim(int batchSize) {
+        Instant now = clock.instant();
+        List<OutgoingMail> due = outgoingMailRepository.findDueForUpdate(now, batchSize);
+        Instant leaseEnd = now.plus(applicationProperties.getMail().getOutbox().getLease());
+        due.forEach(mail -> mail.setNextAttemptAt(leaseEnd));
+        return due;
+    }
+
+    private MimeMessage toMimeMessage(OutgoingMail mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.isHtml());
+        return mimeMessage;
+    }
+
+    private void scheduleRetry(OutgoingMail mail, Exception failure) {
+        ApplicationProperties.Mail.Outbox outbox = applicationProperties.getMail().getOutbox();
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(truncate(String.valueOf(failure.getMessage())));
+        if (attempts >= outbox.getMaxAttempts()) {
+            mail.setNextAttemptAt(null);
+            abandonedCounter.increment();
+            outgoingMailRepository.reschedule(mail.getId(), attempts, null, mail.getLastError());
+            LOG.error("Email {} could not be sent after {} attempts, giving it up", mail.getId(), attempts, failure);
+        } else {
+            mail.setNextAttemptAt(clock.instant().plus(backoff(attempts, outbox)));
+            retriedCounter.increment();
+            outgoingMailRepository.reschedule(mail.getId(), attempts, mail.getNextAttemptAt(), mail.getLastError());
+            LOG.warn(
+                "Email {} could not be sent, attempt {} of {}: {}",
+                mail.getId(),
+                attempts,
+                outbox.getMaxAttempts(),
+                failure.getMessage()
+            );
+        }
+    }
+
+    /**
+     * The delay after a failed attempt: the initial backoff, doubled after each further attempt, up to the maximum.
+     */
+    static Duration backoff(int attempts, ApplicationProperties.Mail.Outbox outbox) {
+        Duration backoff = outbox.getInitialBackoff();
+        for (int i = 1; i < attempts && backoff.compareTo(outbox.getMaxBackoff()) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(outbox.getMaxBackoff()) < 0 ? backoff : outbox.getMaxBackoff();
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record BatchResult(int attempted, int sent) {}
+}
@@ -0,0 +1,148 @@
+package com.example.intent.service;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.RefreshToken;
+import com.example.intent.domain.User;
+import com.example.intent.repository.RefreshTokenLookup;
+import com.example.intent.repository.RefreshTokenRepository;
+import com.example.intent.repository.UserRepository;
+import com.example.intent.security.DomainUserDetailsService.UserWithId;
+import com.example.intent.security.InvalidRefreshTokenException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service issuing and rotating the refresh tokens, which let a client get a new access token without its password
+ * being checked again.
+ * <p>
+ * A token is exchanged only once, for a new access token and a new refresh token of the same family and expiry. A
+ * token used a second time means it leaked, or its successor did: its whole family is revoked, and the client has
+ * to log in again.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Issue the first refresh token of a login.
+     *
+     * @param userId the id of the user who logged in.
+     * @return the refresh token.
+     */
+    public String issue(UUID userId) {
+        Instant expiresAt = Instant.now().plus(applicationProperties.getRefreshToken().getValidity());
+        return create(userId, UUID.randomUUID(), expiresAt);
+    }
+
+    /**
+     * Exchange a refresh token for the next one of its family.
+     *
+     * @param refreshToken the refresh token presented by the client.
+     * @return the user the token was issued to, and the next refresh token.
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, already used or revoked, or if its user
+     * is not activated anymore.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshTokenLookup token = refreshTokenRepository
+            .findLookupByTokenHash(digest(refreshToken))
+            .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        Instant now = Instant.now();
+        if (!now.isBefore(token.expiresAt())) {
+            throw new InvalidRefreshTokenException("Expired refresh token");
+        }
+        if (refreshTokenRepository.markUsed(token.id(), now) == 0) {
+            // Committed in spite of the exception: the family stays revoked
+            LOG.warn("Refresh token of user {} used again, revoking its family {}", token.login(), token.familyId());
+            refreshTokenRepository.deleteByFamilyId(token.familyId());
+            throw new InvalidRefreshTokenException("Refresh token already used or revoked");
+        }
+        User user = userRepository
+            .findOneWithAuthoritiesByLogin(token.login())
+            .filter(candidate -> candidate.getId().equals(token.userId()))
+            .filter(User::isActivated)
+            .orElseThrow(() -> new InvalidRefreshTokenException("The user of the refresh token cannot log in anymore"));
+        return new Rotation(UserWithId.fromUser(user), create(token.userId(), token.familyId(), token.expiresAt()));
+    }
+
+    /**
+     * Revoke all the refresh tokens of a user, so that every client has to log in again.
+     */
+    public void revokeAll(UUID userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Expired refresh tokens, used or not, should be deleted.
+     * <p>
+     * This is scheduled to get fired every day, at 01:30 (am).
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void removeExpiredTokens() {
+        int removed = refreshTokenRepository.deleteExpired(Instant.now());
+        LOG.debug("Deleted {} expired refresh tokens", removed);
+    }
+
+    private String create(UUID userId, UUID familyId, Instant expiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(digest(value));
+        token.setFamilyId(familyId);
+        token.setUser(userRepository.getReferenceById(userId));
+        token.setCreatedDate(Instant.now());
+        token.setExpiresAt(expiresAt);
+        refreshTokenRepository.save(token);
+        return value;
+    }
+
+    static String digest(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The outcome of {@link #rotate(String)}.
+     *
+     * @param user the user the token was issued to, with its current authorities.
+     * @param refreshToken the next refresh token.
+     */
+    public record Rotation(UserWithId user, String refreshToken) {}
+}
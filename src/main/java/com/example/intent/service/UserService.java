@@ -4,9 +4,12 @@ import com.example.intent.config.Constants;
 import com.example.intent.domain.Authority;
 import com.example.intent.domain.User;
 import com.example.intent.repository.AuthorityRepository;
+import com.example.intent.repository.CacheInvalidationBus;
 import com.example.intent.repository.UserRepository;
 import com.example.intent.security.AuthoritiesConstants;
+import com.example.intent.security.DomainUserDetailsService.UserWithId;
 import com.example.intent.security.SecurityUtils;
+import com.example.intent.security.UnknownUserCache;
 import com.example.intent.service.dto.AdminUserDTO;
 import com.example.intent.service.dto.UserDTO;
 import java.time.Instant;
@@ -15,13 +18,19 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -29,10 +38,12 @@ import tech.jhipster.security.RandomUtil;
  */
 @Service
 @Transactional
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
+    public static final String ACCOUNTS_CACHE = "accounts";
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
@@ -41,16 +52,32 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final UnknownUserCache unknownUserCache;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final MailService mailService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CacheInvalidationBus cacheInvalidationBus,
+        UnknownUserCache unknownUserCache,
+        RefreshTokenService refreshTokenService,
+        MailService mailService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.unknownUserCache = unknownUserCache;
+        this.refreshTokenService = refreshTokenService;
+        this.mailService = mailService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -76,6 +103,7 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                refreshTokenService.revokeAll(user.getId());
                 this.clearUserCaches(user);
                 return user;
             });
@@ -89,6 +117,7 @@ public class UserService {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
                 this.clearUserCaches(user);
+                mailService.sendPasswordResetMail(user);
                 return user;
             });
     }
@@ -131,6 +160,7 @@ public class UserService {
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
         this.clearUserCaches(newUser);
+        mailService.sendActivationEmail(newUser);
         LOG.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -176,6 +206,7 @@ public class UserService {
         }
         userRepository.save(user);
         this.clearUserCaches(user);
+        mailService.sendCreationEmail(user);
         LOG.debug("Created Information for User: {}", user);
         return user;
     }
@@ -265,11 +296,29 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                refreshTokenService.revokeAll(user.getId());
                 this.clearUserCaches(user);
                 LOG.debug("Changed password for User: {}", user);
             });
     }
 
+    /**
+     * Store the password of a user hashed again by the password encoder, which Spring Security asks for when a
+     * user logs in with a hash of a lower cost than {@code application.password-hashing.strength}.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        return userRepository
+            .findOneByLogin(userDetails.getUsername())
+            .map(user -> {
+                user.setPassword(newPassword);
+                this.clearUserCaches(user);
+                LOG.debug("Upgraded the password hash of User: {}", user.getLogin());
+                return (UserDetails) new UserWithId(user.getLogin(), newPassword, userDetails.getAuthorities(), user.getId());
+            })
+            .orElse(userDetails);
+    }
+
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
@@ -290,6 +339,35 @@ public class UserService {
         return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
     }
 
+    /**
+     * Get the account of the current user, from the accounts cache when it still matches the claims of the token
+     * of the user: the same user id, and the same authorities.
+     *
+     * @return the account of the current user.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<AdminUserDTO> getAccount() {
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isEmpty()) {
+            return Optional.empty();
+        }
+        Cache accounts = Objects.requireNonNull(cacheManager.getCache(ACCOUNTS_CACHE));
+        AdminUserDTO account = accounts.get(login.orElseThrow(), AdminUserDTO.class);
+        if (account != null && matchesCurrentUser(account)) {
+            return Optional.of(account);
+        }
+        Optional<AdminUserDTO> loaded = userRepository.findOneWithAuthoritiesByLogin(login.orElseThrow()).map(AdminUserDTO::new);
+        loaded.ifPresent(found -> accounts.put(found.getLogin(), found));
+        return loaded;
+    }
+
+    private static boolean matchesCurrentUser(AdminUserDTO account) {
+        if (SecurityUtils.getCurrentUserId().filter(id -> !id.equals(account.getId())).isPresent()) {
+            return false;
+        }
+        return SecurityUtils.getCurrentUserAuthorities().equals(account.getAuthorities());
+    }
+
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
@@ -317,8 +395,36 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        cacheInvalidationBus.publishEviction(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
+        evictAccount(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
+            cacheInvalidationBus.publishEviction(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
+        }
+        unknownUserCache.forget(user.getLogin(), user.getEmail());
+        cacheInvalidationBus.publishEviction(UserRepository.UNKNOWN_USERS_CACHE, UnknownUserCache.key(user.getLogin()));
+        if (user.getEmail() != null) {
+            cacheInvalidationBus.publishEviction(UserRepository.UNKNOWN_USERS_CACHE, UnknownUserCache.key(user.getEmail()));
+        }
+    }
+
+    /**
+     * Evict a cached account now, and again once the transaction has committed: a concurrent request could cache
+     * the former account in between.
+     */
+    private void evictAccount(String login) {
+        Cache accounts = Objects.requireNonNull(cacheManager.getCache(ACCOUNTS_CACHE));
+        accounts.evictIfPresent(login);
+        cacheInvalidationBus.publishEviction(ACCOUNTS_CACHE, login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        accounts.evictIfPresent(login);
+                    }
+                }
+            );
         }
     }
 }
@@ -0,0 +1,349 @@
+package com.example.intent.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.example.intent.domain.Intent} entity. This class is used
+ * in {@link com.example.intent.web.rest.IntentResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /intents?storeId.equals=...&createdTime.greaterThanOrEqual=2025-07-01T00:00:00Z&createdTime.lessThan=2025-08-01T00:00:00Z}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class IntentCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private UUIDFilter id;
+    private BigDecimalFilter commission;
+    private InstantFilter createdTime;
+    private StringFilter createdBy;
+    private InstantFilter updatedTime;
+    private StringFilter updatedBy;
+    private UUIDFilter articleId;
+    private UUIDFilter userId;
+    private UUIDFilter storeManagerId;
+    private UUIDFilter storeId;
+    private StringFilter couponId;
+    private StringFilter rdCheckoutId;
+
+    public IntentCriteria() {}
+
+    public IntentCriteria(IntentCriteria other) {
+        this.id = other.optionalId().map(UUIDFilter::copy).orElse(null);
+        this.commission = other.optionalCommission().map(BigDecimalFilter::copy).orElse(null);
+        this.createdTime = other.optionalCreatedTime().map(InstantFilter::copy).orElse(null);
+        this.createdBy = other.optionalCreatedBy().map(StringFilter::copy).orElse(null);
+        this.updatedTime = other.optionalUpdatedTime().map(InstantFilter::copy).orElse(null);
+        this.updatedBy = other.optionalUpdatedBy().map(StringFilter::copy).orElse(null);
+        this.articleId = other.optionalArticleId().map(UUIDFilter::copy).orElse(null);
+        this.userId = other.optionalUserId().map(UUIDFilter::copy).orElse(null);
+        this.storeManagerId = other.optionalStoreManagerId().map(UUIDFilter::copy).orElse(null);
+        this.storeId = other.optionalStoreId().map(UUIDFilter::copy).orElse(null);
+        this.couponId = other.optionalCouponId().map(StringFilter::copy).orElse(null);
+        this.rdCheckoutId = other.optionalRdCheckoutId().map(StringFilter::copy).orElse(null);
+    }
+
+    @Override
+    public IntentCriteria copy() {
+        return new IntentCriteria(this);
+    }
+
+    public UUIDFilter getId() {
+        return id;
+    }
+
+    public Optional<UUIDFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public UUIDFilter id() {
+        if (id == null) {
+            setId(new UUIDFilter());
+        }
+        return id;
+    }
+
+    public void setId(UUIDFilter id) {
+        this.id = id;
+    }
+
+    public BigDecimalFilter getCommission() {
+        return commission;
+    }
+
+    public Optional<BigDecimalFilter> optionalCommission() {
+        return Optional.ofNullable(commission);
+    }
+
+    public BigDecimalFilter commission() {
+        if (commission == null) {
+            setCommission(new BigDecimalFilter());
+        }
+        return commission;
+    }
+
+    public void setCommission(BigDecimalFilter commission) {
+        this.commission = commission;
+    }
+
+    public InstantFilter getCreatedTime() {
+        return createdTime;
+    }
+
+    public Optional<InstantFilter> optionalCreatedTime() {
+        return Optional.ofNullable(createdTime);
+    }
+
+    public InstantFilter createdTime() {
+        if (createdTime == null) {
+            setCreatedTime(new InstantFilter());
+        }
+        return createdTime;
+    }
+
+    public void setCreatedTime(InstantFilter createdTime) {
+        this.createdTime = createdTime;
+    }
+
+    public StringFilter getCreatedBy() {
+        return createdBy;
+    }
+
+    public Optional<StringFilter> optionalCreatedBy() {
+        return Optional.ofNullable(createdBy);
+    }
+
+    public StringFilter createdBy() {
+        if (createdBy == null) {
+            setCreatedBy(new StringFilter());
+        }
+        return createdBy;
+    }
+
+    public void setCreatedBy(StringFilter createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public InstantFilter getUpdatedTime() {
+        return updatedTime;
+    }
+
+    public Optional<InstantFilter> optionalUpdatedTime() {
+        return Optional.ofNullable(updatedTime);
+    }
+
+    public InstantFilter updatedTime() {
+        if (updatedTime == null) {
+            setUpdatedTime(new InstantFilter());
+        }
+        return updatedTime;
+    }
+
+    public void setUpdatedTime(InstantFilter updatedTime) {
+        this.updatedTime = updatedTime;
+    }
+
+    public StringFilter getUpdatedBy() {
+        return updatedBy;
+    }
+
+    public Optional<StringFilter> optionalUpdatedBy() {
+        return Optional.ofNullable(updatedBy);
+    }
+
+    public StringFilter updatedBy() {
+        if (updatedBy == null) {
+            setUpdatedBy(new StringFilter());
+        }
+        return updatedBy;
+    }
+
+    public void setUpdatedBy(StringFilter updatedBy) {
+        this.updatedBy = updatedBy;
+    }
+
+    public UUIDFilter getArticleId() {
+        return articleId;
+    }
+
+    public Optional<UUIDFilter> optionalArticleId() {
+        return Optional.ofNullable(articleId);
+    }
+
+    public UUIDFilter articleId() {
+        if (articleId == null) {
+            setArticleId(new UUIDFilter());
+        }
+        return articleId;
+    }
+
+    public void setArticleId(UUIDFilter articleId) {
+        this.articleId = articleId;
+    }
+
+    public UUIDFilter getUserId() {
+        return userId;
+    }
+
+    public Optional<UUIDFilter> optionalUserId() {
+        return Optional.ofNullable(userId);
+    }
+
+    public UUIDFilter userId() {
+        if (userId == null) {
+            setUserId(new UUIDFilter());
+        }
+        return userId;
+    }
+
+    public void setUserId(UUIDFilter userId) {
+        this.userId = userId;
+    }
+
+    public UUIDFilter getStoreManagerId() {
+        return storeManagerId;
+    }
+
+    public Optional<UUIDFilter> optionalStoreManagerId() {
+        return Optional.ofNullable(storeManagerId);
+    }
+
+    public UUIDFilter storeManagerId() {
+        if (storeManagerId == null) {
+            setStoreManagerId(new UUIDFilter());
+        }
+        return storeManagerId;
+    }
+
+    public void setStoreManagerId(UUIDFilter storeManagerId) {
+        this.storeManagerId = storeManagerId;
+    }
+
+    public UUIDFilter getStoreId() {
+        return storeId;
+    }
+
+    public Optional<UUIDFilter> optionalStoreId() {
+        return Optional.ofNullable(storeId);
+    }
+
+    public UUIDFilter storeId() {
+        if (storeId == null) {
+            setStoreId(new UUIDFilter());
+        }
+        return storeId;
+    }
+
+    public void setStoreId(UUIDFilter storeId) {
+        this.storeId = storeId;
+    }
+
+    public StringFilter getCouponId() {
+        return couponId;
+    }
+
+    public Optional<StringFilter> optionalCouponId() {
+        return Optional.ofNullable(couponId);
+    }
+
+    public StringFilter couponId() {
+        if (couponId == null) {
+            setCouponId(new StringFilter());
+        }
+        return couponId;
+    }
+
+    public void setCouponId(StringFilter couponId) {
+        this.couponId = couponId;
+    }
+
+    public StringFilter getRdCheckoutId() {
+        return rdCheckoutId;
+    }
+
+    public Optional<StringFilter> optionalRdCheckoutId() {
+        return Optional.ofNullable(rdCheckoutId);
+    }
+
+    public StringFilter rdCheckoutId() {
+        if (rdCheckoutId == null) {
+            setRdCheckoutId(new StringFilter());
+        }
+        return rdCheckoutId;
+    }
+
+    public void setRdCheckoutId(StringFilter rdCheckoutId) {
+        this.rdCheckoutId = rdCheckoutId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final IntentCriteria that = (IntentCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(commission, that.commission) &&
+            Objects.equals(createdTime, that.createdTime) &&
+            Objects.equals(createdBy, that.createdBy) &&
+            Objects.equals(updatedTime, that.updatedTime) &&
+            Objects.equals(updatedBy, that.updatedBy) &&
+            Objects.equals(articleId, that.articleId) &&
+            Objects.equals(userId, that.userId) &&
+            Objects.equals(storeManagerId, that.storeManagerId) &&
+            Objects.equals(storeId, that.storeId) &&
+            Objects.equals(couponId, that.couponId) &&
+            Objects.equals(rdCheckoutId, that.rdCheckoutId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            id,
+            commission,
+            createdTime,
+            createdBy,
+            updatedTime,
+            updatedBy,
+            articleId,
+            userId,
+            storeManagerId,
+            storeId,
+            couponId,
+            rdCheckoutId
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IntentCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalCommission().map(f -> "commission=" + f + ", ").orElse("") +
+            optionalCreatedTime().map(f -> "createdTime=" + f + ", ").orElse("") +
+            optionalCreatedBy().map(f -> "createdBy=" + f + ", ").orElse("") +
+            optionalUpdatedTime().map(f -> "updatedTime=" + f + ", ").orElse("") +
+            optionalUpdatedBy().map(f -> "updatedBy=" + f + ", ").orElse("") +
+            optionalArticleId().map(f -> "articleId=" + f + ", ").orElse("") +
+            optionalUserId().map(f -> "userId=" + f + ", ").orElse("") +
+            optionalStoreManagerId().map(f -> "storeManagerId=" + f + ", ").orElse("") +
+            optionalStoreId().map(f -> "storeId=" + f + ", ").orElse("") +
+            optionalCouponId().map(f -> "couponId=" + f + ", ").orElse("") +
+            optionalRdCheckoutId().map(f -> "rdCheckoutId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
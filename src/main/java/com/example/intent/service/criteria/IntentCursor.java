@@ -0,0 +1,102 @@
+package com.example.intent.service.criteria;
+
+import com.example.intent.domain.Intent;
+import com.example.intent.service.dto.IntentDTO;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keyset position inside the {@link Intent} listing, which is ordered by {@code created_time DESC, id DESC}.
+ * <p>
+ * The cursor is exchanged with clients as an opaque, URL safe token, so the seek columns can change
+ * without breaking the API contract.
+ */
+public final class IntentCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final char SEPARATOR = '|';
+
+    private final Instant createdTime;
+
+    private final UUID id;
+
+    public IntentCursor(Instant createdTime, UUID id) {
+        this.createdTime = Objects.requireNonNull(createdTime, "createdTime");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Build the cursor pointing right after the given intent.
+     *
+     * @param intent the last intent of a page.
+     * @return the cursor of the next page.
+     */
+    public static IntentCursor after(IntentDTO intent) {
+        return new IntentCursor(intent.getCreatedTime(), intent.getId());
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor token.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static IntentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new IntentCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getCreatedTime() {
+        return createdTime;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntentCursor)) {
+            return false;
+        }
+        IntentCursor that = (IntentCursor) o;
+        return createdTime.equals(that.createdTime) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdTime, id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IntentCursor{" +
+            "createdTime=" + createdTime +
+            ", id=" + id +
+            "}";
+    }
+}
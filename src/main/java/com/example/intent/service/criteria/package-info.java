@@ -0,0 +1,4 @@
+/**
+ * Criteria and keyset cursors used to filter and page through entities.
+ */
+package com.example.intent.service.criteria;
@@ -0,0 +1,65 @@
+package com.example.intent.service.dto;
+
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A DTO for the {@link com.example.intent.domain.Article} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ArticleDTO implements Serializable {
+
+    private UUID id;
+
+    @NotNull
+    private BigDecimal price;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArticleDTO)) {
+            return false;
+        }
+
+        ArticleDTO articleDTO = (ArticleDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, articleDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ArticleDTO{" +
+            "id='" + getId() + "'" +
+            ", price=" + getPrice() +
+            "}";
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.intent.service.dto;
+
+import com.example.intent.domain.enumeration.CouponType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.example.intent.domain.Coupon} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CouponDTO implements Serializable {
+
+    private String id;
+
+    private String text;
+
+    private CouponType type;
+
+    private BigDecimal value;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public CouponType getType() {
+        return type;
+    }
+
+    public void setType(CouponType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CouponDTO)) {
+            return false;
+        }
+
+        CouponDTO couponDTO = (CouponDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, couponDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CouponDTO{" +
+            "id='" + getId() + "'" +
+            ", text='" + getText() + "'" +
+            ", type='" + getType() + "'" +
+            ", value=" + getValue() +
+            "}";
+    }
+}
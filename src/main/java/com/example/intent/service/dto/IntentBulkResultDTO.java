@@ -0,0 +1,125 @@
+package com.example.intent.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A DTO reporting the outcome of a bulk intent creation, item by item, so that a client only has to
+ * resend the items which were not created.
+ */
+public class IntentBulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        /** The intent was persisted. */
+        CREATED,
+        /** The intent failed validation and was not sent to the database. */
+        INVALID,
+        /** The intent was valid but the database refused it. */
+        FAILED,
+    }
+
+    private final List<ItemResult> items;
+
+    public IntentBulkResultDTO(List<ItemResult> items) {
+        this.items = items;
+    }
+
+    public List<ItemResult> getItems() {
+        return items;
+    }
+
+    public long getCreated() {
+        return count(Status.CREATED);
+    }
+
+    public long getInvalid() {
+        return count(Status.INVALID);
+    }
+
+    public long getFailed() {
+        return count(Status.FAILED);
+    }
+
+    public boolean isComplete() {
+        return getCreated() == items.size();
+    }
+
+    private long count(Status status) {
+        return items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    /**
+     * The outcome for the intent found at {@code index} in the request body.
+     */
+    public static class ItemResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        private final UUID id;
+
+        private final Status status;
+
+        private final List<String> errors;
+
+        private ItemResult(int index, UUID id, Status status, List<String> errors) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.errors = errors;
+        }
+
+        public static ItemResult created(int index, UUID id) {
+            return new ItemResult(index, id, Status.CREATED, List.of());
+        }
+
+        public static ItemResult invalid(int index, List<String> errors) {
+            return new ItemResult(index, null, Status.INVALID, errors);
+        }
+
+        public static ItemResult failed(int index, String error) {
+            return new ItemResult(index, null, Status.FAILED, List.of(error));
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "ItemResult{" +
+                "index=" + index +
+                ", id=" + id +
+                ", status=" + status +
+                ", errors=" + errors +
+                "}";
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IntentBulkResultDTO{" +
+            "created=" + getCreated() +
+            ", invalid=" + getInvalid() +
+            ", failed=" + getFailed() +
+            "}";
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.intent.service.dto;
+
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A DTO for the {@link com.example.intent.domain.Intent} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class IntentDTO implements Serializable {
+
+    private UUID id;
+
+    private BigDecimal commission;
+
+    @NotNull
+    private Instant createdTime;
+
+    private String createdBy;
+
+    private Instant updatedTime;
+
+    private String updatedBy;
+
+    private Long version;
+
+    private ArticleDTO article;
+
+    private UserDTO user;
+
+    private StoreManagerDTO storeManager;
+
+    private StoreDTO store;
+
+    private CouponDTO coupon;
+
+    private RDCheckoutDTO rdCheckout;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public BigDecimal getCommission() {
+        return commission;
+    }
+
+    public void setCommission(BigDecimal commission) {
+        this.commission = commission;
+    }
+
+    public Instant getCreatedTime() {
+        return createdTime;
+    }
+
+    public void setCreatedTime(Instant createdTime) {
+        this.createdTime = createdTime;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getUpdatedTime() {
+        return updatedTime;
+    }
+
+    public void setUpdatedTime(Instant updatedTime) {
+        this.updatedTime = updatedTime;
+    }
+
+    public String getUpdatedBy() {
+        return updatedBy;
+    }
+
+    public void setUpdatedBy(String updatedBy) {
+        this.updatedBy = updatedBy;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public ArticleDTO getArticle() {
+        return article;
+    }
+
+    public void setArticle(ArticleDTO article) {
+        this.article = article;
+    }
+
+    public UserDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserDTO user) {
+        this.user = user;
+    }
+
+    public StoreManagerDTO getStoreManager() {
+        return storeManager;
+    }
+
+    public void setStoreManager(StoreManagerDTO storeManager) {
+        this.storeManager = storeManager;
+    }
+
+    public StoreDTO getStore() {
+        return store;
+    }
+
+    public void setStore(StoreDTO store) {
+        this.store = store;
+    }
+
+    public CouponDTO getCoupon() {
+        return coupon;
+    }
+
+    public void setCoupon(CouponDTO coupon) {
+        this.coupon = coupon;
+    }
+
+    public RDCheckoutDTO getRdCheckout() {
+        return rdCheckout;
+    }
+
+    public void setRdCheckout(RDCheckoutDTO rdCheckout) {
+        this.rdCheckout = rdCheckout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntentDTO)) {
+            return false;
+        }
+
+        IntentDTO intentDTO = (IntentDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, intentDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IntentDTO{" +
+            "id='" + getId() + "'" +
+            ", commission=" + getCommission() +
+            ", createdTime='" + getCreatedTime() + "'" +
+            ", createdBy='" + getCreatedBy() + "'" +
+            ", updatedTime='" + getUpdatedTime() + "'" +
+            ", updatedBy='" + getUpdatedBy() + "'" +
+            ", version=" + getVersion() +
+            ", article=" + getArticle() +
+            ", user=" + getUser() +
+            ", storeManager=" + getStoreManager() +
+            ", store=" + getStore() +
+            ", coupon=" + getCoupon() +
+            ", rdCheckout=" + getRdCheckout() +
+            "}";
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.intent.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.example.intent.domain.RDCheckout} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RDCheckoutDTO implements Serializable {
+
+    private String id;
+
+    private String status;
+
+    private String paymentStatus;
+
+    private String orderId;
+
+    private String orderDeliveryStatus;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(String paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOrderDeliveryStatus() {
+        return orderDeliveryStatus;
+    }
+
+    public void setOrderDeliveryStatus(String orderDeliveryStatus) {
+        this.orderDeliveryStatus = orderDeliveryStatus;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RDCheckoutDTO)) {
+            return false;
+        }
+
+        RDCheckoutDTO rDCheckoutDTO = (RDCheckoutDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, rDCheckoutDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RDCheckoutDTO{" +
+            "id='" + getId() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", paymentStatus='" + getPaymentStatus() + "'" +
+            ", orderId='" + getOrderId() + "'" +
+            ", orderDeliveryStatus='" + getOrderDeliveryStatus() + "'" +
+            "}";
+    }
+}
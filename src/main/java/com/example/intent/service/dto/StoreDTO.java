@@ -0,0 +1,62 @@
+package com.example.intent.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A DTO for the {@link com.example.intent.domain.Store} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class StoreDTO implements Serializable {
+
+    private UUID id;
+
+    private String name;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StoreDTO)) {
+            return false;
+        }
+
+        StoreDTO storeDTO = (StoreDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, storeDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StoreDTO{" +
+            "id='" + getId() + "'" +
+            ", name='" + getName() + "'" +
+            "}";
+    }
+}
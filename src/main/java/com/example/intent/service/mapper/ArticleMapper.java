@@ -0,0 +1,11 @@
+package com.example.intent.service.mapper;
+
+import com.example.intent.domain.Article;
+import com.example.intent.service.dto.ArticleDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Article} and its DTO {@link ArticleDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface ArticleMapper extends EntityMapper<ArticleDTO, Article> {}
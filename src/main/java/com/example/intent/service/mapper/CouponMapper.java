@@ -0,0 +1,11 @@
+package com.example.intent.service.mapper;
+
+import com.example.intent.domain.Coupon;
+import com.example.intent.service.dto.CouponDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Coupon} and its DTO {@link CouponDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface CouponMapper extends EntityMapper<CouponDTO, Coupon> {}
@@ -0,0 +1,145 @@
+package com.example.intent.service.mapper;
+
+import com.example.intent.domain.Article;
+import com.example.intent.domain.Coupon;
+import com.example.intent.domain.Intent;
+import com.example.intent.domain.RDCheckout;
+import com.example.intent.domain.Store;
+import com.example.intent.domain.StoreManager;
+import com.example.intent.domain.User;
+import com.example.intent.repository.IntentSummary;
+import com.example.intent.service.dto.ArticleDTO;
+import com.example.intent.service.dto.CouponDTO;
+import com.example.intent.service.dto.IntentDTO;
+import com.example.intent.service.dto.RDCheckoutDTO;
+import com.example.intent.service.dto.StoreDTO;
+import com.example.intent.service.dto.StoreManagerDTO;
+import com.example.intent.service.dto.UserDTO;
+import java.util.UUID;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Intent} and its DTO {@link IntentDTO}.
+ * <p>
+ * Associations are mapped to DTOs holding only their id, which is read without initializing lazy proxies,
+ * except by {@link #toFullDto(Intent)}.
+ */
+@Mapper(componentModel = "spring")
+public interface IntentMapper extends EntityMapper<IntentDTO, Intent> {
+    @Mapping(target = "article", source = "article", qualifiedByName = "articleId")
+    @Mapping(target = "user", source = "user", qualifiedByName = "userId")
+    @Mapping(target = "storeManager", source = "storeManager", qualifiedByName = "storeManagerId")
+    @Mapping(target = "store", source = "store", qualifiedByName = "storeId")
+    @Mapping(target = "coupon", source = "coupon", qualifiedByName = "couponId")
+    @Mapping(target = "rdCheckout", source = "rdCheckout", qualifiedByName = "rDCheckoutId")
+    IntentDTO toDto(Intent s);
+
+    @Override
+    @Mapping(target = "user", source = "user", qualifiedByName = "userFromDto")
+    Intent toEntity(IntentDTO dto);
+
+    /**
+     * Map an intent together with the whole of its associations, which should have been fetched with it.
+     */
+    @Named("full")
+    IntentDTO toFullDto(Intent s);
+
+    @Mapping(target = "article", source = "articleId", qualifiedByName = "articleFromId")
+    @Mapping(target = "user", source = "userId", qualifiedByName = "userFromId")
+    @Mapping(target = "storeManager", source = "storeManagerId", qualifiedByName = "storeManagerFromId")
+    @Mapping(target = "store", source = "storeId", qualifiedByName = "storeFromId")
+    @Mapping(target = "coupon", source = "couponId", qualifiedByName = "couponFromId")
+    @Mapping(target = "rdCheckout", source = "rdCheckoutId", qualifiedByName = "rDCheckoutFromId")
+    IntentDTO toDto(IntentSummary s);
+
+    /**
+     * Map the values of an intent to the row of a single statement update.
+     */
+    @Mapping(target = "articleId", source = "article.id")
+    @Mapping(target = "userId", source = "user.id")
+    @Mapping(target = "storeManagerId", source = "storeManager.id")
+    @Mapping(target = "storeId", source = "store.id")
+    @Mapping(target = "couponId", source = "coupon.id")
+    @Mapping(target = "rdCheckoutId", source = "rdCheckout.id")
+    IntentSummary toSummary(IntentDTO s);
+
+    /**
+     * Only the columns of the intent itself can be patched: the associations are left untouched.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "article", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "storeManager", ignore = true)
+    @Mapping(target = "store", ignore = true)
+    @Mapping(target = "coupon", ignore = true)
+    @Mapping(target = "rdCheckout", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Intent entity, IntentDTO dto);
+
+    @Named("articleId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ArticleDTO toDtoArticleId(Article article);
+
+    @Named("userId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    UserDTO toDtoUserId(User user);
+
+    @Named("userFromDto")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    User userFromDto(UserDTO user);
+
+    @Named("storeManagerId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    StoreManagerDTO toDtoStoreManagerId(StoreManager storeManager);
+
+    @Named("storeId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    StoreDTO toDtoStoreId(Store store);
+
+    @Named("couponId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    CouponDTO toDtoCouponId(Coupon coupon);
+
+    @Named("rDCheckoutId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    RDCheckoutDTO toDtoRDCheckoutId(RDCheckout rDCheckout);
+
+    @Named("articleFromId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ArticleDTO articleFromId(UUID id);
+
+    @Named("userFromId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    UserDTO userFromId(UUID id);
+
+    @Named("storeManagerFromId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    StoreManagerDTO storeManagerFromId(UUID id);
+
+    @Named("storeFromId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    StoreDTO storeFromId(UUID id);
+
+    @Named("couponFromId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    CouponDTO couponFromId(String id);
+
+    @Named("rDCheckoutFromId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    RDCheckoutDTO rDCheckoutFromId(String id);
+}
@@ -0,0 +1,11 @@
+package com.example.intent.service.mapper;
+
+import com.example.intent.domain.RDCheckout;
+import com.example.intent.service.dto.RDCheckoutDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link RDCheckout} and its DTO {@link RDCheckoutDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface RDCheckoutMapper extends EntityMapper<RDCheckoutDTO, RDCheckout> {}
@@ -0,0 +1,11 @@
+package com.example.intent.service.mapper;
+
+import com.example.intent.domain.StoreManager;
+import com.example.intent.service.dto.StoreManagerDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link StoreManager} and its DTO {@link StoreManagerDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface StoreManagerMapper extends EntityMapper<StoreManagerDTO, StoreManager> {}
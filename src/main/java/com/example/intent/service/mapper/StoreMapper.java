@@ -0,0 +1,11 @@
+package com.example.intent.service.mapper;
+
+import com.example.intent.domain.Store;
+import com.example.intent.service.dto.StoreDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Store} and its DTO {@link StoreDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface StoreMapper extends EntityMapper<StoreDTO, Store> {}
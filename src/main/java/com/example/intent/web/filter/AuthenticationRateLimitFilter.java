@@ -0,0 +1,279 @@
+package com.example.intent.web.filter;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.management.SecurityMetersService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limits the requests to the authentication endpoints, which are open to anyone and each cost a password hashing
+ * or a database write: per client address, and per login or email whatever the address.
+ * <p>
+ * The requests beyond the buckets of {@code application.rate-limit} are refused with a 429 and a
+ * {@code Retry-After} header, before their body is even parsed by the controllers.
+ * <p>
+ * Behind proxies, the client address is the last address of {@code X-Forwarded-For} which is not one of the
+ * {@code application.rate-limit.trusted-proxies}: the addresses before it were written by the client, which could
+ * otherwise get a new bucket with each request. The header is only read from a peer which is a trusted proxy, so
+ * the servlet container must not replace the peer address with a forwarded one.
+ */
+public class AuthenticationRateLimitFilter extends OncePerRequestFilter {
+
+    static final String AUTHENTICATE_PATH = "/api/authenticate";
+    static final String REGISTER_PATH = "/api/register";
+    static final String RESET_PASSWORD_INIT_PATH = "/api/account/reset-password/init";
+
+    /**
+     * The logins are looked for in the first bytes of the bodies only: the larger bodies are passed on as they are.
+     */
+    private static final int MAX_PEEKED_BYTES = 4096;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final StripedRateLimiter ipLimiter;
+
+    private final StripedRateLimiter loginLimiter;
+
+    private final SecurityMetersService metersService;
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public AuthenticationRateLimitFilter(ApplicationProperties.RateLimit properties, SecurityMetersService metersService) {
+        this(
+            new StripedRateLimiter(properties.getIp().getCapacity(), properties.getIp().getRefillPeriod(), properties.getMaxKeys()),
+            new StripedRateLimiter(properties.getLogin().getCapacity(), properties.getLogin().getRefillPeriod(), properties.getMaxKeys()),
+            properties.getTrustedProxies(),
+            metersService
+        );
+    }
+
+    AuthenticationRateLimitFilter(
+        StripedRateLimiter ipLimiter,
+        StripedRateLimiter loginLimiter,
+        List<String> trustedProxies,
+        SecurityMetersService metersService
+    ) {
+        this.ipLimiter = ipLimiter;
+        this.loginLimiter = loginLimiter;
+        this.trustedProxies = trustedProxies.stream().map(IpAddressMatcher::new).toList();
+        this.metersService = metersService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !AUTHENTICATE_PATH.equals(path) && !REGISTER_PATH.equals(path) && !RESET_PASSWORD_INIT_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        long wait = ipLimiter.tryAcquire(clientAddress(request));
+        if (wait > 0) {
+            metersService.trackRateLimitedByIp();
+            reject(request, response, wait);
+            return;
+        }
+        PeekedBodyRequest peeked = new PeekedBodyRequest(request);
+        String login = login(path(request), peeked.peek, request.getCharacterEncoding());
+        if (login != null) {
+            wait = loginLimiter.tryAcquire(login);
+            if (wait > 0) {
+                metersService.trackRateLimitedByLogin();
+                reject(request, response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(peeked, response);
+    }
+
+    /**
+     * @return the address of the peer when it is not a trusted proxy, otherwise the last address of
+     * {@code X-Forwarded-For} which is not a trusted proxy, or the address of the peer when there are only trusted
+     * proxies.
+     */
+    String clientAddress(HttpServletRequest request) {
+        String peer = request.getRemoteAddr();
+        if (!isTrustedProxy(peer)) {
+            // A client calling directly: its X-Forwarded-For is whatever it wrote
+            return peer;
+        }
+        List<String> forwardedFor = new ArrayList<>();
+        for (String header : Collections.list(request.getHeaders(X_FORWARDED_FOR))) {
+            for (String address : header.split(",")) {
+                forwardedFor.add(address.trim());
+            }
+        }
+        for (int i = forwardedFor.size() - 1; i >= 0; i--) {
+            if (!isTrustedProxy(forwardedFor.get(i))) {
+                return forwardedFor.get(i);
+            }
+        }
+        return peer;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        try {
+            return trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+        } catch (IllegalArgumentException e) {
+            // Not an address: written by the client
+            return false;
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * @return the lowercase login or email a request is about, or {@code null} if it cannot be told.
+     */
+    static String login(String path, byte[] body, String encoding) {
+        if (body.length == 0 || body.length >= MAX_PEEKED_BYTES) {
+            return null;
+        }
+        Charset charset = charset(encoding);
+        String login;
+        if (RESET_PASSWORD_INIT_PATH.equals(path)) {
+            login = new String(body, charset).trim();
+        } else {
+            try {
+                JsonNode json = OBJECT_MAPPER.readTree(new String(body, charset));
+                JsonNode field = json == null ? null : json.get(AUTHENTICATE_PATH.equals(path) ? "username" : "login");
+                login = field == null || !field.isTextual() ? null : field.asText().trim();
+            } catch (IOException e) {
+                // Left to the controller to refuse
+                return null;
+            }
+        }
+        return login == null || login.isEmpty() ? null : login.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return the charset of an encoding given by the client, or UTF-8 when it gave none, or one not supported.
+     */
+    static Charset charset(String encoding) {
+        if (encoding == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        Map<String, Object> problem = new LinkedHashMap<>();
+        problem.put("type", "about:blank");
+        problem.put("title", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        problem.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        problem.put("detail", "Too many attempts, retry in " + retryAfter + " seconds");
+        problem.put("instance", path(request));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        OBJECT_MAPPER.writeValue(response.getOutputStream(), problem);
+    }
+
+    /**
+     * Request whose first bytes were read, and are replayed before the rest of its body.
+     */
+    private static final class PeekedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] peek;
+
+        private final ServletInputStream inputStream;
+
+        private BufferedReader reader;
+
+        PeekedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            ServletInputStream original = request.getInputStream();
+            this.peek = original.readNBytes(MAX_PEEKED_BYTES);
+            InputStream replayed = new SequenceInputStream(new ByteArrayInputStream(peek), original);
+            this.inputStream = new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("The body of a rate limited request is read synchronously");
+                }
+
+                @Override
+                public int read() throws IOException {
+                    return finish(replayed.read());
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return finish(replayed.read(b, off, len));
+                }
+
+                private int finish(int read) {
+                    finished = read < 0;
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            if (reader == null) {
+                reader = new BufferedReader(new InputStreamReader(inputStream, charset(getCharacterEncoding())));
+            }
+            return reader;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.intent.web.filter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of the same capacity, one per key, kept in memory.
+ * <p>
+ * A bucket is a single "theoretical arrival time": each request pushes it one refill period further, and a request
+ * is refused while it would be more than {@code capacity} periods ahead of now. The buckets are spread over stripes
+ * locked independently, each keeping its most recently used keys only: a key forgotten starts again with a full
+ * bucket, as an idle one would have.
+ */
+public class StripedRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final long refillNanos;
+
+    private final long burstNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public StripedRateLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    StripedRateLimiter(int capacity, Duration refillPeriod, int maxKeys, LongSupplier nanoClock) {
+        this.refillNanos = refillPeriod.toNanos();
+        this.burstNanos = refillNanos * capacity;
+        this.nanoClock = nanoClock;
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Take a token from the bucket of a key.
+     *
+     * @param key the key.
+     * @return {@code 0} if a token was taken, otherwise how long until one is available, in nanoseconds.
+     */
+    public long tryAcquire(String key) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode() * 0x9E3779B9, STRIPES)];
+        synchronized (stripe) {
+            long now = nanoClock.getAsLong();
+            Long arrival = stripe.get(key);
+            // An idle bucket is full: it does not accumulate more than its capacity
+            long next = (arrival == null || arrival - now < 0 ? now : arrival) + refillNanos;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            stripe.put(key, next);
+            return 0;
+        }
+    }
+
+    /**
+     * @return the number of keys whose buckets are kept.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxKeys;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -48,6 +49,7 @@ public class ArticleResource {
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new article, or with status {@code 400 (Bad Request)} if the article has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = ArticleRepository.ALL_ARTICLES_CACHE, allEntries = true)
     @PostMapping("")
     public ResponseEntity<Article> createArticle(@Valid @RequestBody Article article) throws URISyntaxException {
         LOG.debug("REST request to save Article : {}", article);
@@ -70,6 +72,7 @@ public class ArticleResource {
      * or with status {@code 500 (Internal Server Error)} if the article couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = ArticleRepository.ALL_ARTICLES_CACHE, allEntries = true)
     @PutMapping("/{id}")
     public ResponseEntity<Article> updateArticle(
         @PathVariable(value = "id", required = false) final UUID id,
@@ -104,6 +107,7 @@ public class ArticleResource {
      * or with status {@code 500 (Internal Server Error)} if the article couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = ArticleRepository.ALL_ARTICLES_CACHE, allEntries = true)
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Article> partialUpdateArticle(
         @PathVariable(value = "id", required = false) final UUID id,
@@ -146,7 +150,7 @@ public class ArticleResource {
     @GetMapping("")
     public List<Article> getAllArticles() {
         LOG.debug("REST request to get all Articles");
-        return articleRepository.findAll();
+        return articleRepository.findAllCached();
     }
 
     /**
@@ -168,6 +172,7 @@ public class ArticleResource {
      * @param id the id of the article to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
+    @CacheEvict(cacheNames = ArticleRepository.ALL_ARTICLES_CACHE, allEntries = true)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteArticle(@PathVariable("id") UUID id) {
         LOG.debug("REST request to delete Article : {}", id);
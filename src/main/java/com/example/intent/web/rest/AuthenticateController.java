@@ -4,13 +4,17 @@ import static com.example.intent.security.SecurityUtils.AUTHORITIES_CLAIM;
 import static com.example.intent.security.SecurityUtils.JWT_ALGORITHM;
 import static com.example.intent.security.SecurityUtils.USER_ID_CLAIM;
 
+import com.example.intent.config.ApplicationProperties;
 import com.example.intent.security.DomainUserDetailsService.UserWithId;
+import com.example.intent.service.RefreshTokenService;
 import com.example.intent.web.rest.vm.LoginVM;
+import com.example.intent.web.rest.vm.RefreshTokenVM;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
 import java.security.Principal;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,9 +52,20 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final RefreshTokenService refreshTokenService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        RefreshTokenService refreshTokenService,
+        ApplicationProperties applicationProperties
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.refreshTokenService = refreshTokenService;
+        this.applicationProperties = applicationProperties;
     }
 
     @PostMapping("/authenticate")
@@ -62,10 +77,40 @@ public class AuthenticateController {
 
         Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = this.createToken(authentication, loginVM.isRememberMe());
+        String jwt;
+        String refreshToken = null;
+        if (loginVM.isRefreshable() && authentication.getPrincipal() instanceof UserWithId user) {
+            // The client gets a new access token whenever it needs one, so it is only given a short-lived one
+            jwt = this.createToken(authentication, applicationProperties.getRefreshToken().getAccessTokenValidity());
+            refreshToken = refreshTokenService.issue(user.getId());
+        } else {
+            jwt = this.createToken(authentication, loginVM.isRememberMe());
+        }
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(jwt);
+        return new ResponseEntity<>(new JWTToken(jwt, refreshToken), httpHeaders, HttpStatus.OK);
+    }
+
+    /**
+     * {@code POST /authenticate/refresh} : exchange a refresh token for a new access token, without checking the
+     * password again.
+     *
+     * @param refreshTokenVM the refresh token, which cannot be used again.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the new access and refresh tokens,
+     * or with status {@code 401 (Unauthorized)} if the refresh token is unknown, expired, already used or revoked.
+     */
+    @PostMapping("/authenticate/refresh")
+    public ResponseEntity<JWTToken> refresh(@Valid @RequestBody RefreshTokenVM refreshTokenVM) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenVM.getRefreshToken());
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+            rotation.user(),
+            null,
+            rotation.user().getAuthorities()
+        );
+        String jwt = this.createToken(authentication, applicationProperties.getRefreshToken().getAccessTokenValidity());
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setBearerAuth(jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        return new ResponseEntity<>(new JWTToken(jwt, rotation.refreshToken()), httpHeaders, HttpStatus.OK);
     }
 
     /**
@@ -81,20 +126,21 @@ public class AuthenticateController {
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
+        return createToken(
+            authentication,
+            Duration.ofSeconds(rememberMe ? this.tokenValidityInSecondsForRememberMe : this.tokenValidityInSeconds)
+        );
+    }
+
+    private String createToken(Authentication authentication, Duration validity) {
         String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" "));
 
         Instant now = Instant.now();
-        Instant validity;
-        if (rememberMe) {
-            validity = now.plus(this.tokenValidityInSecondsForRememberMe, ChronoUnit.SECONDS);
-        } else {
-            validity = now.plus(this.tokenValidityInSeconds, ChronoUnit.SECONDS);
-        }
 
         // @formatter:off
         JwtClaimsSet.Builder builder = JwtClaimsSet.builder()
             .issuedAt(now)
-            .expiresAt(validity)
+            .expiresAt(now.plus(validity))
             .subject(authentication.getName())
             .claim(AUTHORITIES_CLAIM, authorities);
         if (authentication.getPrincipal() instanceof UserWithId user) {
@@ -112,8 +158,11 @@ public class AuthenticateController {
 
         private String idToken;
 
-        JWTToken(String idToken) {
+        private String refreshToken;
+
+        JWTToken(String idToken, String refreshToken) {
             this.idToken = idToken;
+            this.refreshToken = refreshToken;
         }
 
         @JsonProperty("id_token")
@@ -124,5 +173,15 @@ public class AuthenticateController {
         void setIdToken(String idToken) {
             this.idToken = idToken;
         }
+
+        @JsonProperty("refresh_token")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String getRefreshToken() {
+            return refreshToken;
+        }
+
+        void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
 }
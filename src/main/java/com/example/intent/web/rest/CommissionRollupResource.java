@@ -0,0 +1,76 @@
+package com.example.intent.web.rest;
+
+import com.example.intent.domain.CommissionRollup;
+import com.example.intent.domain.enumeration.RollupDimension;
+import com.example.intent.domain.enumeration.RollupGranularity;
+import com.example.intent.repository.CommissionRollupRepository;
+import com.example.intent.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller reporting the {@link CommissionRollup} precomputed commission totals.
+ */
+@RestController
+@RequestMapping("/api/commission-rollups")
+@Transactional(readOnly = true)
+public class CommissionRollupResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommissionRollupResource.class);
+
+    private static final String ENTITY_NAME = "commissionRollup";
+
+    private final CommissionRollupRepository commissionRollupRepository;
+
+    public CommissionRollupResource(CommissionRollupRepository commissionRollupRepository) {
+        this.commissionRollupRepository = commissionRollupRepository;
+    }
+
+    /**
+     * {@code GET  /commission-rollups} : get the commission totals of a dimension, per time bucket.
+     *
+     * @param dimension the dimension the totals are grouped by.
+     * @param granularity the width of the time buckets, {@code DAY} by default.
+     * @param key the value of the dimension to report on, or all of them if absent.
+     * @param from the start of the first bucket, inclusive.
+     * @param to the end of the reported range, exclusive.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of rollups in body,
+     * or with status {@code 400 (Bad Request)} if the range is empty.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<CommissionRollup>> getCommissionRollups(
+        @RequestParam("dimension") RollupDimension dimension,
+        @RequestParam(name = "granularity", defaultValue = "DAY") RollupGranularity granularity,
+        @RequestParam(name = "key", required = false) String key,
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to,
+        @org.springdoc.core.annotations.ParameterObject @PageableDefault(
+            size = 100,
+            sort = { "bucketStart", "dimensionKey" },
+            direction = Sort.Direction.ASC
+        ) Pageable pageable
+    ) {
+        LOG.debug("REST request to get CommissionRollups of {} {} for {} in [{}, {})", dimension, granularity, key, from, to);
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("The range is empty", ENTITY_NAME, "rangeinvalid");
+        }
+        Page<CommissionRollup> page = key == null
+            ? commissionRollupRepository.findAllInRange(dimension, granularity, from, to, pageable)
+            : commissionRollupRepository.findAllInRange(dimension, granularity, key, from, to, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
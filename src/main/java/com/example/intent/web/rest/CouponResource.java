@@ -13,6 +13,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -47,6 +48,7 @@ public class CouponResource {
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new coupon, or with status {@code 400 (Bad Request)} if the coupon has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = CouponRepository.ALL_COUPONS_CACHE, allEntries = true)
     @PostMapping("")
     public ResponseEntity<Coupon> createCoupon(@Valid @RequestBody Coupon coupon) throws URISyntaxException {
         LOG.debug("REST request to save Coupon : {}", coupon);
@@ -69,6 +71,7 @@ public class CouponResource {
      * or with status {@code 500 (Internal Server Error)} if the coupon couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = CouponRepository.ALL_COUPONS_CACHE, allEntries = true)
     @PutMapping("/{id}")
     public ResponseEntity<Coupon> updateCoupon(
         @PathVariable(value = "id", required = false) final String id,
@@ -103,6 +106,7 @@ public class CouponResource {
      * or with status {@code 500 (Internal Server Error)} if the coupon couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = CouponRepository.ALL_COUPONS_CACHE, allEntries = true)
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Coupon> partialUpdateCoupon(
         @PathVariable(value = "id", required = false) final String id,
@@ -148,7 +152,7 @@ public class CouponResource {
     @GetMapping("")
     public List<Coupon> getAllCoupons() {
         LOG.debug("REST request to get all Coupons");
-        return couponRepository.findAll();
+        return couponRepository.findAllCached();
     }
 
     /**
@@ -170,6 +174,7 @@ public class CouponResource {
      * @param id the id of the coupon to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
+    @CacheEvict(cacheNames = CouponRepository.ALL_COUPONS_CACHE, allEntries = true)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCoupon(@PathVariable("id") String id) {
         LOG.debug("REST request to delete Coupon : {}", id);
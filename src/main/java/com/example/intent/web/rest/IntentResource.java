@@ -1,191 +1,423 @@
 package com.example.intent.web.rest;
 
-import com.example.intent.domain.Intent;
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.repository.IntentFetchProfile;
 import com.example.intent.repository.IntentRepository;
+import com.example.intent.service.IntentBufferFullException;
+import com.example.intent.service.IntentExportService;
+import com.example.intent.service.IntentQueryService;
+import com.example.intent.service.IntentService;
+import com.example.intent.service.IntentWriteBuffer;
+import com.example.intent.service.criteria.IntentCriteria;
+import com.example.intent.service.criteria.IntentCursor;
+import com.example.intent.service.dto.IntentBulkResultDTO;
+import com.example.intent.service.dto.IntentBulkResultDTO.ItemResult;
+import com.example.intent.service.dto.IntentDTO;
 import com.example.intent.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.example.intent.domain.Intent}.
  */
 @RestController
 @RequestMapping("/api/intents")
-@Transactional
 public class IntentResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(IntentResource.class);
 
     private static final String ENTITY_NAME = "intent";
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final IntentRepository intentRepository;
 
-    public IntentResource(IntentRepository intentRepository) {
+    private final IntentQueryService intentQueryService;
+
+    private final IntentService intentService;
+
+    private final IntentExportService intentExportService;
+
+    private final IntentWriteBuffer intentWriteBuffer;
+
+    private final ApplicationProperties applicationProperties;
+
+    public IntentResource(
+        IntentRepository intentRepository,
+        IntentQueryService intentQueryService,
+        IntentService intentService,
+        IntentExportService intentExportService,
+        IntentWriteBuffer intentWriteBuffer,
+        ApplicationProperties applicationProperties
+    ) {
         this.intentRepository = intentRepository;
+        this.intentQueryService = intentQueryService;
+        this.intentService = intentService;
+        this.intentExportService = intentExportService;
+        this.intentWriteBuffer = intentWriteBuffer;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
      * {@code POST  /intents} : Create a new intent.
+     * <p>
+     * When the write buffer is enabled, the intent is written by a group commit, and the response is sent once
+     * that commit is done.
      *
-     * @param intent the intent to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new intent, or with status {@code 400 (Bad Request)} if the intent has already an ID.
+     * @param intentDTO the intentDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new intentDTO, or with status {@code 400 (Bad Request)} if the intent has already an ID,
+     * or with status {@code 503 (Service Unavailable)} if the write buffer is full.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Intent> createIntent(@Valid @RequestBody Intent intent) throws URISyntaxException {
-        LOG.debug("REST request to save Intent : {}", intent);
-        if (intent.getId() != null) {
+    public ResponseEntity<IntentDTO> createIntent(@Valid @RequestBody IntentDTO intentDTO) throws URISyntaxException {
+        LOG.debug("REST request to save Intent : {}", intentDTO);
+        if (intentDTO.getId() != null) {
             throw new BadRequestAlertException("A new intent cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        intent = intentRepository.save(intent);
-        return ResponseEntity.created(new URI("/api/intents/" + intent.getId()))
-            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, intent.getId().toString()))
-            .body(intent);
+        intentDTO = intentWriteBuffer.isEnabled() ? createBuffered(intentDTO) : intentService.save(intentDTO);
+        return ResponseEntity.created(new URI("/api/intents/" + intentDTO.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, intentDTO.getId().toString()))
+            .body(intentDTO);
+    }
+
+    /**
+     * {@code POST  /intents/bulk} : Create many intents at once.
+     * <p>
+     * Every intent is validated and reported on individually: a partial failure does not roll back the intents
+     * which were created, and the client only has to resend the ones which were not.
+     *
+     * @param intentDTOs the intents to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} if all the intents were created, or with status
+     * {@code 207 (Multi-Status)} if some were not, and with body the outcome of each intent; or with status
+     * {@code 400 (Bad Request)} if the request holds too many intents.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<IntentBulkResultDTO> createIntents(@RequestBody List<IntentDTO> intentDTOs) {
+        LOG.debug("REST request to bulk save {} Intents", intentDTOs.size());
+        if (intentDTOs.size() > applicationProperties.getIngestion().getBulk().getMaxItems()) {
+            throw new BadRequestAlertException("Too many intents in a single request", ENTITY_NAME, "bulktoolarge");
+        }
+        IntentBulkResultDTO result = intentService.createAll(intentDTOs);
+        return ResponseEntity.status(result.isComplete() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+            .headers(
+                HeaderUtil.createAlert(
+                    applicationName,
+                    applicationName + "." + ENTITY_NAME + ".bulkCreated",
+                    String.valueOf(result.getCreated())
+                )
+            )
+            .body(result);
     }
 
     /**
      * {@code PUT  /intents/:id} : Updates an existing intent.
+     * <p>
+     * The update is conditional on the version given by the {@code If-Match} header, or else by the body. It is
+     * applied in a single statement, and the response holds the new version as its {@code ETag}.
      *
-     * @param id the id of the intent to save.
-     * @param intent the intent to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated intent,
-     * or with status {@code 400 (Bad Request)} if the intent is not valid,
-     * or with status {@code 500 (Internal Server Error)} if the intent couldn't be updated.
+     * @param id the id of the intentDTO to save.
+     * @param ifMatch the {@code ETag} the intent must still have, or {@code *} to update it whatever its version.
+     * @param intentDTO the intentDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated intentDTO,
+     * or with status {@code 400 (Bad Request)} if the intentDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the intent was modified since the given version,
+     * or with status {@code 500 (Internal Server Error)} if the intentDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Intent> updateIntent(
+    public ResponseEntity<IntentDTO> updateIntent(
         @PathVariable(value = "id", required = false) final UUID id,
-        @Valid @RequestBody Intent intent
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Valid @RequestBody IntentDTO intentDTO
     ) throws URISyntaxException {
-        LOG.debug("REST request to update Intent : {}, {}", id, intent);
-        if (intent.getId() == null) {
+        LOG.debug("REST request to update Intent : {}, {}, If-Match: {}", id, intentDTO, ifMatch);
+        if (intentDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, intent.getId())) {
+        if (!Objects.equals(id, intentDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!intentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        intent = intentRepository.save(intent);
+        intentDTO = intentService.update(intentDTO, expectedVersion(ifMatch, intentDTO)).orElseThrow(() -> updateFailure(id));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, intent.getId().toString()))
-            .body(intent);
+            .eTag(eTag(intentDTO))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, intentDTO.getId().toString()))
+            .body(intentDTO);
     }
 
     /**
      * {@code PATCH  /intents/:id} : Partial updates given fields of an existing intent, field will ignore if it is null
+     * <p>
+     * The update is conditional on the version given by the {@code If-Match} header, or else by the body. It is
+     * applied in a single statement, and the response holds the new version as its {@code ETag}.
      *
-     * @param id the id of the intent to save.
-     * @param intent the intent to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated intent,
-     * or with status {@code 400 (Bad Request)} if the intent is not valid,
-     * or with status {@code 404 (Not Found)} if the intent is not found,
-     * or with status {@code 500 (Internal Server Error)} if the intent couldn't be updated.
+     * @param id the id of the intentDTO to save.
+     * @param ifMatch the {@code ETag} the intent must still have, or {@code *} to update it whatever its version.
+     * @param intentDTO the intentDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated intentDTO,
+     * or with status {@code 400 (Bad Request)} if the intentDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the intent was modified since the given version,
+     * or with status {@code 500 (Internal Server Error)} if the intentDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Intent> partialUpdateIntent(
+    public ResponseEntity<IntentDTO> partialUpdateIntent(
         @PathVariable(value = "id", required = false) final UUID id,
-        @NotNull @RequestBody Intent intent
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @NotNull @RequestBody IntentDTO intentDTO
     ) throws URISyntaxException {
-        LOG.debug("REST request to partial update Intent partially : {}, {}", id, intent);
-        if (intent.getId() == null) {
+        LOG.debug("REST request to partial update Intent partially : {}, {}, If-Match: {}", id, intentDTO, ifMatch);
+        if (intentDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, intent.getId())) {
+        if (!Objects.equals(id, intentDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!intentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Intent> result = intentRepository
-            .findById(intent.getId())
-            .map(existingIntent -> {
-                if (intent.getCommission() != null) {
-                    existingIntent.setCommission(intent.getCommission());
-                }
-                if (intent.getCreatedTime() != null) {
-                    existingIntent.setCreatedTime(intent.getCreatedTime());
-                }
-                if (intent.getCreatedBy() != null) {
-                    existingIntent.setCreatedBy(intent.getCreatedBy());
-                }
-                if (intent.getUpdatedTime() != null) {
-                    existingIntent.setUpdatedTime(intent.getUpdatedTime());
-                }
-                if (intent.getUpdatedBy() != null) {
-                    existingIntent.setUpdatedBy(intent.getUpdatedBy());
-                }
-
-                return existingIntent;
-            })
-            .map(intentRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, intent.getId().toString())
-        );
+        intentDTO = intentService.partialUpdate(intentDTO, expectedVersion(ifMatch, intentDTO)).orElseThrow(() -> updateFailure(id));
+        return ResponseEntity.ok()
+            .eTag(eTag(intentDTO))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, intentDTO.getId().toString()))
+            .body(intentDTO);
     }
 
     /**
-     * {@code GET  /intents} : get all the intents.
+     * {@code GET  /intents} : get a slice of the intents, newest first.
+     * <p>
+     * The listing is keyset paginated: the {@code Link} header holds the URL of the {@code next} slice,
+     * whose {@code cursor} parameter points right after the last intent of the current one.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param cursor the opaque position to resume from, as given by a previous {@code Link} header.
+     * @param size the maximum number of intents to return.
+     * @param profile the fetch profile, {@code summary} (default) for the association ids only, or {@code full}
+     * for the whole associations.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of intents in body.
      */
     @GetMapping("")
-    public List<Intent> getAllIntents() {
-        LOG.debug("REST request to get all Intents");
-        return intentRepository.findAll();
+    public ResponseEntity<List<IntentDTO>> getAllIntents(
+        IntentCriteria criteria,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+        @RequestParam(name = "profile", defaultValue = "summary") String profile
+    ) {
+        LOG.debug("REST request to get Intents by criteria: {}, cursor: {}, profile: {}", criteria, cursor, profile);
+        Slice<IntentDTO> slice = intentQueryService.findByCriteria(
+            criteria,
+            decodeCursor(cursor),
+            Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+            fetchProfile(profile)
+        );
+        HttpHeaders headers = generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /intents/export} : stream the intents created in a time range, oldest first.
+     * <p>
+     * Rows are written to the response while they are read from the database, so the export does not hold
+     * the whole table in memory.
+     *
+     * @param format the output format, {@code ndjson} (default) or {@code csv}.
+     * @param from the lower bound of the creation time, inclusive.
+     * @param to the upper bound of the creation time, exclusive.
+     * @param response the response to stream the rows to.
+     * @throws IOException if the response cannot be written to.
+     */
+    @GetMapping("/export")
+    public void exportIntents(
+        @RequestParam(name = "format", defaultValue = "ndjson") String format,
+        @RequestParam(name = "from", required = false) Instant from,
+        @RequestParam(name = "to", required = false) Instant to,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export Intents created in [{}, {}) as {}", from, to, format);
+        IntentExportService.Format exportFormat = IntentExportService.Format.fromName(format).orElseThrow(() ->
+            new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "exportformatinvalid")
+        );
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("intents." + exportFormat.getFileExtension()).build().toString()
+        );
+        long count = intentExportService.export(exportFormat, from, to, response.getOutputStream());
+        LOG.debug("Exported {} Intents", count);
     }
 
     /**
      * {@code GET  /intents/:id} : get the "id" intent.
      *
-     * @param id the id of the intent to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the intent, or with status {@code 404 (Not Found)}.
+     * @param id the id of the intentDTO to retrieve.
+     * @param profile the fetch profile, {@code summary} (default) or {@code full}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the intentDTO and its version as {@code ETag},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Intent> getIntent(@PathVariable("id") UUID id) {
-        LOG.debug("REST request to get Intent : {}", id);
-        Optional<Intent> intent = intentRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(intent);
+    public ResponseEntity<IntentDTO> getIntent(
+        @PathVariable("id") UUID id,
+        @RequestParam(name = "profile", defaultValue = "summary") String profile
+    ) {
+        LOG.debug("REST request to get Intent : {}, profile: {}", id, profile);
+        Optional<IntentDTO> intentDTO = intentService.findOne(id, fetchProfile(profile));
+        return intentDTO
+            .map(dto -> ResponseEntity.ok().eTag(eTag(dto)).body(dto))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
      * {@code DELETE  /intents/:id} : delete the "id" intent.
      *
-     * @param id the id of the intent to delete.
+     * @param id the id of the intentDTO to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteIntent(@PathVariable("id") UUID id) {
         LOG.debug("REST request to delete Intent : {}", id);
-        intentRepository.deleteById(id);
+        intentService.delete(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private IntentDTO createBuffered(IntentDTO intentDTO) {
+        ItemResult result;
+        try {
+            result = intentWriteBuffer
+                .submit(intentDTO)
+                .get(applicationProperties.getIngestion().getBuffer().getAckTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while buffering the intent", e);
+        } catch (TimeoutException e) {
+            // The intent may still be written: its batch is only late
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "The intent was not acknowledged in time", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? bufferFailure(cause) : new IllegalStateException(e.getCause());
+        } catch (IntentBufferFullException e) {
+            throw bufferFailure(e);
+        }
+        if (result.getStatus() != IntentBulkResultDTO.Status.CREATED) {
+            throw new BadRequestAlertException(
+                String.join(", ", result.getErrors()),
+                ENTITY_NAME,
+                result.getStatus() == IntentBulkResultDTO.Status.INVALID ? "intentinvalid" : "intentrefused"
+            );
+        }
+        intentDTO.setId(result.getId());
+        return intentDTO;
+    }
+
+    private static RuntimeException bufferFailure(RuntimeException e) {
+        return e instanceof IntentBufferFullException ? new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e) : e;
+    }
+
+    private static String eTag(IntentDTO intentDTO) {
+        return "\"" + intentDTO.getVersion() + "\"";
+    }
+
+    /**
+     * The version an update is conditional on: the one of the {@code If-Match} header if any, or else the one of
+     * the body. {@code If-Match: *} and a body without version make the update unconditional.
+     */
+    private static Long expectedVersion(String ifMatch, IntentDTO intentDTO) {
+        if (ifMatch == null) {
+            return intentDTO.getVersion();
+        }
+        String eTag = ifMatch.trim();
+        if ("*".equals(eTag)) {
+            return null;
+        }
+        // A weak or malformed entity tag never matches, as If-Match uses the strong comparison
+        if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            try {
+                return Long.valueOf(eTag.substring(1, eTag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the failed precondition
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Invalid If-Match header: " + ifMatch);
+    }
+
+    /**
+     * Tell why a single statement update changed no row, which only costs a query when the update failed.
+     */
+    private RuntimeException updateFailure(UUID id) {
+        if (!intentRepository.existsById(id)) {
+            return new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        }
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The intent was modified since the given version");
+    }
+
+    private static IntentFetchProfile fetchProfile(String profile) {
+        return IntentFetchProfile.fromName(profile).orElseThrow(() ->
+            new BadRequestAlertException("Unknown fetch profile", ENTITY_NAME, "profileinvalid")
+        );
+    }
+
+    private IntentCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return IntentCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
+    private static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Slice<IntentDTO> slice) {
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            String nextCursor = IntentCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1)).encode();
+            link.append(prepareLink(uriBuilder, nextCursor, slice.getSize(), "next")).append(',');
+        }
+        link.append(prepareLink(uriBuilder, null, slice.getSize(), "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, int size, String relType) {
+        String uri = uriBuilder
+            .cloneBuilder()
+            .replaceQueryParam("cursor", cursor == null ? new Object[0] : new Object[] { cursor })
+            .replaceQueryParam("size", size)
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
 }
@@ -14,6 +14,7 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -48,6 +49,7 @@ public class StoreManagerResource {
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new storeManager, or with status {@code 400 (Bad Request)} if the storeManager has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = StoreManagerRepository.ALL_STORE_MANAGERS_CACHE, allEntries = true)
     @PostMapping("")
     public ResponseEntity<StoreManager> createStoreManager(@Valid @RequestBody StoreManager storeManager) throws URISyntaxException {
         LOG.debug("REST request to save StoreManager : {}", storeManager);
@@ -70,6 +72,7 @@ public class StoreManagerResource {
      * or with status {@code 500 (Internal Server Error)} if the storeManager couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = StoreManagerRepository.ALL_STORE_MANAGERS_CACHE, allEntries = true)
     @PutMapping("/{id}")
     public ResponseEntity<StoreManager> updateStoreManager(
         @PathVariable(value = "id", required = false) final UUID id,
@@ -104,6 +107,7 @@ public class StoreManagerResource {
      * or with status {@code 500 (Internal Server Error)} if the storeManager couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = StoreManagerRepository.ALL_STORE_MANAGERS_CACHE, allEntries = true)
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<StoreManager> partialUpdateStoreManager(
         @PathVariable(value = "id", required = false) final UUID id,
@@ -146,7 +150,7 @@ public class StoreManagerResource {
     @GetMapping("")
     public List<StoreManager> getAllStoreManagers() {
         LOG.debug("REST request to get all StoreManagers");
-        return storeManagerRepository.findAll();
+        return storeManagerRepository.findAllCached();
     }
 
     /**
@@ -168,6 +172,7 @@ public class StoreManagerResource {
      * @param id the id of the storeManager to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
+    @CacheEvict(cacheNames = StoreManagerRepository.ALL_STORE_MANAGERS_CACHE, allEntries = true)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStoreManager(@PathVariable("id") UUID id) {
         LOG.debug("REST request to delete StoreManager : {}", id);
@@ -14,6 +14,7 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -48,6 +49,7 @@ public class StoreResource {
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new store, or with status {@code 400 (Bad Request)} if the store has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = StoreRepository.ALL_STORES_CACHE, allEntries = true)
     @PostMapping("")
     public ResponseEntity<Store> createStore(@Valid @RequestBody Store store) throws URISyntaxException {
         LOG.debug("REST request to save Store : {}", store);
@@ -70,6 +72,7 @@ public class StoreResource {
      * or with status {@code 500 (Internal Server Error)} if the store couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = StoreRepository.ALL_STORES_CACHE, allEntries = true)
     @PutMapping("/{id}")
     public ResponseEntity<Store> updateStore(@PathVariable(value = "id", required = false) final UUID id, @Valid @RequestBody Store store)
         throws URISyntaxException {
@@ -102,6 +105,7 @@ public class StoreResource {
      * or with status {@code 500 (Internal Server Error)} if the store couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
+    @CacheEvict(cacheNames = StoreRepository.ALL_STORES_CACHE, allEntries = true)
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Store> partialUpdateStore(
         @PathVariable(value = "id", required = false) final UUID id,
@@ -144,7 +148,7 @@ public class StoreResource {
     @GetMapping("")
     public List<Store> getAllStores() {
         LOG.debug("REST request to get all Stores");
-        return storeRepository.findAll();
+        return storeRepository.findAllCached();
     }
 
     /**
@@ -166,6 +170,7 @@ public class StoreResource {
      * @param id the id of the store to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
+    @CacheEvict(cacheNames = StoreRepository.ALL_STORES_CACHE, allEntries = true)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStore(@PathVariable("id") UUID id) {
         LOG.debug("REST request to delete Store : {}", id);
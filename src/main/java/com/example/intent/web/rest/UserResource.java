@@ -4,7 +4,6 @@ import com.example.intent.config.Constants;
 import com.example.intent.domain.User;
 import com.example.intent.repository.UserRepository;
 import com.example.intent.security.AuthoritiesConstants;
-import com.example.intent.service.MailService;
 import com.example.intent.service.UserService;
 import com.example.intent.service.dto.AdminUserDTO;
 import com.example.intent.web.rest.errors.BadRequestAlertException;
@@ -84,12 +83,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -118,7 +114,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity.created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(HeaderUtil.createAlert(applicationName, "userManagement.created", newUser.getLogin()))
                 .body(newUser);
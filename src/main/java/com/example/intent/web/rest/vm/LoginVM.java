@@ -18,6 +18,11 @@ public class LoginVM {
 
     private boolean rememberMe;
 
+    /**
+     * Whether the client refreshes its access token: it is then given a refresh token, and a short-lived access token.
+     */
+    private boolean refreshable;
+
     public String getUsername() {
         return username;
     }
@@ -42,12 +47,21 @@ public class LoginVM {
         this.rememberMe = rememberMe;
     }
 
+    public boolean isRefreshable() {
+        return refreshable;
+    }
+
+    public void setRefreshable(boolean refreshable) {
+        this.refreshable = refreshable;
+    }
+
     // prettier-ignore
     @Override
     public String toString() {
         return "LoginVM{" +
             "username='" + username + '\'' +
             ", rememberMe=" + rememberMe +
+            ", refreshable=" + refreshable +
             '}';
     }
 }
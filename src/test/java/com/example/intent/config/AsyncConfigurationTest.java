@@ -0,0 +1,145 @@
+package com.example.intent.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.task.TaskRejectedException;
+
+class AsyncConfigurationTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private Executor executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    @Test
+    void measuresTheTasksOfEachExecutor() throws Exception {
+        executor = mailExecutor(ApplicationProperties.Async.Rejection.BLOCK);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("executor.pool.max").tag("name", "mailExecutor").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queue.remaining").tag("name", "mailExecutor").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.idle").tag("name", "mailExecutor").timer().count()).isEqualTo(1);
+        // The run time is recorded once the task returned
+        waitUntil(() -> meterRegistry.get("executor").tag("name", "mailExecutor").timer().count() == 1);
+    }
+
+    @Test
+    void blocksTheSubmitterUntilTheQueueHasRoomThenRefuses() throws Exception {
+        executor = mailExecutor(ApplicationProperties.Async.Rejection.BLOCK);
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        long start = System.nanoTime();
+        assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> executor.execute(() -> {}));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        assertThat(saturatedCount("block")).isEqualTo(1);
+    }
+
+    @Test
+    void discardsTheOldestQueuedTask() throws Exception {
+        executor = mailExecutor(ApplicationProperties.Async.Rejection.DISCARD_OLDEST);
+        List<String> ran = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(this::awaitRelease);
+        executor.execute(() -> ran.add("oldest"));
+
+        executor.execute(() -> {
+            ran.add("newest");
+            done.countDown();
+        });
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactly("newest");
+        assertThat(saturatedCount("discard-oldest")).isEqualTo(1);
+    }
+
+    @Test
+    void runsTheTaskOnTheSubmitterThread() {
+        executor = mailExecutor(ApplicationProperties.Async.Rejection.CALLER_RUNS);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        executor.execute(() -> threads.add(Thread.currentThread().getName()));
+
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+        assertThat(saturatedCount("caller-runs")).isEqualTo(1);
+    }
+
+    private Executor mailExecutor(ApplicationProperties.Async.Rejection rejection) {
+        ApplicationProperties.Async.Pool pool = applicationProperties.getAsync().getMail();
+        pool.setCoreSize(1);
+        pool.setMaxSize(1);
+        pool.setQueueCapacity(1);
+        pool.setRejection(rejection);
+        pool.setBlockTimeout(Duration.ofMillis(200));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        Executor mailExecutor = new AsyncConfiguration(
+            applicationProperties,
+            beanFactory.getBeanProvider(MeterRegistry.class)
+        ).mailExecutor();
+        try {
+            ((InitializingBean) mailExecutor).afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return mailExecutor;
+    }
+
+    private double saturatedCount(String policy) {
+        return meterRegistry
+            .get(AsyncConfiguration.SATURATED_METER_NAME)
+            .tag("name", "mailExecutor")
+            .tag("policy", policy)
+            .counter()
+            .count();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.intent.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import javax.cache.Caching;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.ehcache.config.EvictionAdvisor;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the cache regions of {@link CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private JHipsterProperties.Cache.Ehcache defaults;
+
+    private ApplicationProperties.Cache.Region region;
+
+    @BeforeEach
+    void setup() {
+        defaults = new JHipsterProperties.Cache.Ehcache();
+        defaults.setMaxEntries(100);
+        defaults.setTimeToLiveSeconds(3600);
+        region = new ApplicationProperties.Cache.Region();
+    }
+
+    @Test
+    void regionWithoutSettingsUsesTheDefaults() {
+        var configuration = CacheConfiguration.ehcacheConfiguration("article", null, defaults, false);
+
+        SizedResourcePool heap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getSize()).isEqualTo(100);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation("key", "value")).isEqualTo(Duration.ofHours(1));
+        assertThat(configuration.getEvictionAdvisor()).isNull();
+    }
+
+    @Test
+    void regionSettingsOverrideTheDefaults() {
+        region.setMaxEntries(5000L);
+        region.setTimeToIdle(Duration.ofMinutes(10));
+        region.setEvictionAdvisor(SoftLockEvictionAdvisor.class);
+
+        var configuration = CacheConfiguration.ehcacheConfiguration("intent", region, defaults, false);
+
+        SizedResourcePool heap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getSize()).isEqualTo(5000);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation("key", "value")).isEqualTo(Duration.ofMinutes(10));
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess("key", () -> "value")).isEqualTo(Duration.ofMinutes(10));
+        EvictionAdvisor<? super Object, ? super Object> evictionAdvisor = configuration.getEvictionAdvisor();
+        assertThat(evictionAdvisor).isInstanceOf(SoftLockEvictionAdvisor.class);
+        assertThat(evictionAdvisor.adviseAgainstEviction("key", mock(SoftLock.class))).isTrue();
+        assertThat(evictionAdvisor.adviseAgainstEviction("key", "value")).isFalse();
+    }
+
+    @Test
+    void regionCanBeSizedInBytes() {
+        region.setMaxBytes(DataSize.ofMegabytes(16));
+
+        var configuration = CacheConfiguration.ehcacheConfiguration("intent", region, defaults, false);
+
+        SizedResourcePool heap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(MemoryUnit.B.convert(heap.getSize(), (MemoryUnit) heap.getUnit())).isEqualTo(16L * 1024 * 1024);
+    }
+
+    @Test
+    void regionCanHaveOffHeapAndDiskTiers() {
+        region.setMaxEntries(1000L);
+        region.setOffHeap(DataSize.ofMegabytes(32));
+        region.setDisk(DataSize.ofMegabytes(256));
+
+        var configuration = CacheConfiguration.ehcacheConfiguration("article", region, defaults, true);
+
+        SizedResourcePool offHeap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP);
+        assertThat(MemoryUnit.B.convert(offHeap.getSize(), (MemoryUnit) offHeap.getUnit())).isEqualTo(32L * 1024 * 1024);
+        SizedResourcePool disk = configuration.getResourcePools().getPoolForResource(ResourceType.Core.DISK);
+        assertThat(MemoryUnit.B.convert(disk.getSize(), (MemoryUnit) disk.getUnit())).isEqualTo(256L * 1024 * 1024);
+        assertThat(disk.isPersistent()).isTrue();
+    }
+
+    @Test
+    void diskTierRequiresADiskDirectory() {
+        region.setDisk(DataSize.ofMegabytes(256));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> CacheConfiguration.ehcacheConfiguration("article", region, defaults, false))
+            .withMessageContaining("disk-directory");
+    }
+
+    @Test
+    void diskTierSurvivesARestart(@TempDir Path directory) {
+        region.setMaxEntries(10L);
+        region.setOffHeap(DataSize.ofMegabytes(1));
+        region.setDisk(DataSize.ofMegabytes(8));
+        var configuration = Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfiguration.ehcacheConfiguration("article", region, defaults, true)
+        );
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        try (javax.cache.CacheManager cm = CacheConfiguration.createPersistentCacheManager(directory.toFile(), classLoader)) {
+            cm.createCache("article", configuration).put("key", "value");
+        }
+        try (javax.cache.CacheManager cm = CacheConfiguration.createPersistentCacheManager(directory.toFile(), classLoader)) {
+            assertThat(cm.createCache("article", configuration).get("key")).isEqualTo("value");
+        }
+    }
+
+    @Test
+    void cachesCollectStatistics() throws MalformedObjectNameException {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, new ApplicationProperties());
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+
+        ClassLoader classLoader = getClass().getClassLoader();
+        URI uri = URI.create("urn:cache-statistics");
+
+        try (javax.cache.CacheManager cm = provider.getCacheManager(uri, new DefaultConfiguration(classLoader))) {
+            cacheConfiguration.cacheManagerCustomizer().customize(cm);
+
+            // The statistics of a cache are published as an MBean, which the cache meters are read from
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            for (String cacheName : cm.getCacheNames()) {
+                ObjectName statistics = new ObjectName("javax.cache:type=CacheStatistics,Cache=" + cacheName + ",*");
+                assertThat(mBeanServer.queryNames(statistics, null)).as(cacheName).hasSize(1);
+            }
+        }
+    }
+
+    @Test
+    void regionCannotHaveTwoLimits() {
+        region.setMaxEntries(10L);
+        region.setMaxBytes(DataSize.ofKilobytes(10));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> CacheConfiguration.ehcacheConfiguration("intent", region, defaults, false));
+    }
+
+    @Test
+    void regionCannotHaveTwoExpiries() {
+        region.setTimeToLive(Duration.ofMinutes(1));
+        region.setTimeToIdle(Duration.ofMinutes(1));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> CacheConfiguration.ehcacheConfiguration("intent", region, defaults, false));
+    }
+
+    @Test
+    void unknownRegionIsRefused() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getRegions().put("articles", region);
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> cacheConfiguration.cacheManagerCustomizer().customize(mock(javax.cache.CacheManager.class)))
+            .withMessageContaining("articles");
+    }
+}
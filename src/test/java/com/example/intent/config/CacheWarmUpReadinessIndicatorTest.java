@@ -0,0 +1,45 @@
+package com.example.intent.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.intent.service.CacheWarmUpService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+
+class CacheWarmUpReadinessIndicatorTest {
+
+    private ApplicationAvailability availability;
+
+    private CacheWarmUpService cacheWarmUpService;
+
+    private CacheWarmUpReadinessIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        availability = mock(ApplicationAvailability.class);
+        cacheWarmUpService = mock(CacheWarmUpService.class);
+        indicator = new CacheWarmUpReadinessIndicator(availability, cacheWarmUpService);
+        when(availability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void isOutOfServiceWhileWarmingUp() {
+        when(cacheWarmUpService.isComplete()).thenReturn(false);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    }
+
+    @Test
+    void followsTheApplicationReadinessOnceWarmedUp() {
+        when(cacheWarmUpService.isComplete()).thenReturn(true);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+
+        when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    }
+}
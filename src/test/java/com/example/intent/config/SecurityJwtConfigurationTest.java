@@ -0,0 +1,68 @@
+package com.example.intent.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.example.intent.management.SecurityMetersService;
+import com.example.intent.security.CachingJwtDecoder;
+import com.example.intent.security.jwt.JwtAuthenticationTestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SecurityJwtConfigurationTest {
+
+    private static final String JWT_KEY =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        SecurityJwtConfiguration configuration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtKey", JWT_KEY);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheManager", new ConcurrentMapCacheManager(CachingJwtDecoder.VERIFIED_TOKENS_CACHE));
+        jwtDecoder = configuration.jwtDecoder(new SecurityMetersService(meterRegistry), beanFactory.getBeanProvider(CacheManager.class));
+    }
+
+    @Test
+    void cachesTheVerifiedTokens() {
+        String token = JwtAuthenticationTestUtils.createValidToken(JWT_KEY);
+
+        jwtDecoder.decode(token);
+        jwtDecoder.decode(token);
+
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void classifiesTheRejectedTokensByExceptionType() throws Exception {
+        assertRejectedAs(JwtAuthenticationTestUtils.createExpiredToken(JWT_KEY), "expired");
+        assertRejectedAs(JwtAuthenticationTestUtils.createTokenWithDifferentSignature(), "invalid-signature");
+        assertRejectedAs(JwtAuthenticationTestUtils.createSignedInvalidJwt(JWT_KEY), "malformed");
+        assertRejectedAs(JwtAuthenticationTestUtils.createInvalidToken(JWT_KEY), "malformed");
+        assertRejectedAs("eyJhbGciOiJub25lIn0.eyJzdWIiOiJhbm9ueW1vdXMifQ.", "unsupported");
+    }
+
+    private void assertRejectedAs(String token, String cause) {
+        double count = invalidTokens(cause);
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> jwtDecoder.decode(token));
+
+        assertThat(invalidTokens(cause)).isEqualTo(count + 1);
+    }
+
+    private double invalidTokens(String cause) {
+        return meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.intent.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.intent.management.CachesEndpointStatisticsExtension.CacheStatistics;
+import com.example.intent.management.CachesEndpointStatisticsExtension.CacheStatisticsDescriptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.util.Map;
+import javax.cache.Cache;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.cache.jcache.JCacheCacheManager;
+
+class CachesEndpointStatisticsExtensionTest {
+
+    private javax.cache.CacheManager cacheManager;
+
+    private Cache<String, String> cache;
+
+    private MeterRegistry meterRegistry;
+
+    private CachesEndpointStatisticsExtension extension;
+
+    @BeforeEach
+    void setup() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(
+            URI.create("urn:caches-endpoint-statistics-test"),
+            new DefaultConfiguration(getClass().getClassLoader())
+        );
+        cache = cacheManager.createCache("usersByLogin", new MutableConfiguration<String, String>().setStatisticsEnabled(true));
+        JCacheCacheManager springCacheManager = new JCacheCacheManager(cacheManager);
+        springCacheManager.afterPropertiesSet();
+
+        meterRegistry = new SimpleMeterRegistry();
+        JCacheMetrics.monitor(meterRegistry, cache, Tags.of(CacheSizeMetrics.CACHE_MANAGER_DIMENSION, "cacheManager"));
+        new CacheSizeMetrics(Map.of("cacheManager", springCacheManager)).bindTo(meterRegistry);
+        extension = new CachesEndpointStatisticsExtension(new CachesEndpoint(Map.of("cacheManager", springCacheManager)), meterRegistry);
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void listsTheLiveStatisticsOfEachCache() {
+        cache.put("admin", "admin");
+        cache.put("user", "user");
+        cache.get("admin");
+        cache.get("admin");
+        cache.get("user");
+        cache.get("anonymous");
+
+        CacheStatisticsDescriptor descriptor = (CacheStatisticsDescriptor) extension
+            .caches()
+            .getCacheManagers()
+            .get("cacheManager")
+            .getCaches()
+            .get("usersByLogin");
+
+        CacheStatistics statistics = descriptor.getStatistics();
+        assertThat(descriptor.getTarget()).isNotEmpty();
+        assertThat(statistics.hits()).isEqualTo(3);
+        assertThat(statistics.misses()).isEqualTo(1);
+        assertThat(statistics.hitRatio()).isEqualTo(0.75);
+        assertThat(statistics.puts()).isEqualTo(2);
+        assertThat(statistics.size()).isEqualTo(2);
+    }
+
+    @Test
+    void hasNoHitRatioBeforeTheFirstRead() {
+        CacheStatistics statistics = extension.statistics("cacheManager", "usersByLogin");
+
+        assertThat(statistics.hits()).isZero();
+        assertThat(statistics.hitRatio()).isNull();
+        assertThat(statistics.size()).isZero();
+    }
+
+    @Test
+    void cacheManagerNameIsTheOneOfTheSpringBootMeters() {
+        assertThat(CacheSizeMetrics.cacheManagerName("cacheManager")).isEqualTo("cacheManager");
+        assertThat(CacheSizeMetrics.cacheManagerName("persistentCacheManager")).isEqualTo("persistent");
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.intent.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.intent.IntegrationTest;
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.Store;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CacheInvalidationBus}.
+ * <p>
+ * Not transactional: the notifications are only delivered once their transaction commits.
+ */
+@IntegrationTest
+class CacheInvalidationBusIT {
+
+    private static final String CHANNEL = "cache_invalidation_test";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    private CacheInvalidationBus bus;
+
+    private Connection listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getInvalidation().setEnabled(true);
+        applicationProperties.getCache().getInvalidation().setChannel(CHANNEL);
+        bus = new CacheInvalidationBus(
+            applicationProperties,
+            entityManager,
+            entityManagerFactory,
+            cacheManager,
+            transactionManager,
+            objectMapper,
+            new SimpleMeterRegistry()
+        );
+        listener = dataSource.getConnection();
+        listener.setAutoCommit(true);
+        try (Statement statement = listener.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Statement statement = listener.createStatement()) {
+            statement.execute("UNLISTEN " + CHANNEL);
+        }
+        listener.close();
+    }
+
+    @Test
+    void notifiesTheEvictionsOfATransactionOnCommit() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bus.publishEviction(UserRepository.USERS_BY_LOGIN_CACHE, "admin");
+            bus.publishEviction(UserRepository.USERS_BY_EMAIL_CACHE, "admin@localhost");
+            assertThat(receive(200)).isEmpty();
+        });
+
+        List<String> payloads = receive(5000);
+        assertThat(payloads).hasSize(1);
+        assertThat(objectMapper.readValue(payloads.get(0), CacheInvalidationBus.Message.class).invalidations()).containsExactly(
+            new CacheInvalidationBus.Invalidation(CacheInvalidationBus.Kind.KEY, UserRepository.USERS_BY_LOGIN_CACHE, "admin"),
+            new CacheInvalidationBus.Invalidation(CacheInvalidationBus.Kind.KEY, UserRepository.USERS_BY_EMAIL_CACHE, "admin@localhost")
+        );
+    }
+
+    @Test
+    void doesNotNotifyTheEvictionsOfARolledBackTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bus.publishEntity(Store.class, "rolled-back");
+            status.setRollbackOnly();
+        });
+
+        assertThat(receive(500)).isEmpty();
+    }
+
+    @Test
+    void notifiesRightAwayOutsideOfATransaction() {
+        bus.publishClear(StoreRepository.ALL_STORES_CACHE);
+
+        assertThat(receive(5000)).hasSize(1);
+    }
+
+    @Test
+    void appliesTheEntityInvalidationsOfTheOtherNodes() {
+        Store store = storeRepository.saveAndFlush(new Store().name("invalidated"));
+        try {
+            storeRepository.findById(store.getId());
+            assertThat(entityManagerFactory.getCache().contains(Store.class, store.getId())).isTrue();
+
+            bus.apply(CacheInvalidationBus.Invalidation.entity(Store.class.getName(), store.getId()));
+
+            assertThat(entityManagerFactory.getCache().contains(Store.class, store.getId())).isFalse();
+        } finally {
+            storeRepository.delete(store);
+        }
+    }
+
+    private List<String> receive(int timeoutMillis) {
+        List<String> payloads = new ArrayList<>();
+        PGNotification[] notifications;
+        try {
+            notifications = listener.unwrap(PGConnection.class).getNotifications(timeoutMillis);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        if (notifications != null) {
+            for (PGNotification notification : notifications) {
+                payloads.add(notification.getParameter());
+            }
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.intent.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.repository.CacheInvalidationBus.Invalidation;
+import com.example.intent.repository.CacheInvalidationBus.Kind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class CacheInvalidationBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+        bus = newBus(meterRegistry);
+    }
+
+    @Test
+    void splitsTheInvalidationsOfATransactionBelowThePayloadLimit() throws Exception {
+        List<Invalidation> invalidations = IntStream.range(0, 500)
+            .mapToObj(i -> Invalidation.key(UserRepository.USERS_BY_LOGIN_CACHE, "user-" + i))
+            .toList();
+
+        List<String> payloads = bus.encode(invalidations);
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        List<Invalidation> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(CacheInvalidationBus.MAX_PAYLOAD_BYTES);
+            CacheInvalidationBus.Message message = objectMapper.readValue(payload, CacheInvalidationBus.Message.class);
+            assertThat(message.node()).isEqualTo(bus.getNode());
+            decoded.addAll(message.invalidations());
+        }
+        assertThat(decoded).containsExactlyElementsOf(invalidations);
+    }
+
+    @Test
+    void clearsTheWholeCacheForAKeyTooLargeToBeSent() throws Exception {
+        String key = "x".repeat(CacheInvalidationBus.MAX_PAYLOAD_BYTES);
+
+        List<String> payloads = bus.encode(List.of(Invalidation.key(UserRepository.USERS_BY_LOGIN_CACHE, key)));
+
+        assertThat(payloads).hasSize(1);
+        assertThat(objectMapper.readValue(payloads.get(0), CacheInvalidationBus.Message.class).invalidations()).containsExactly(
+            new Invalidation(Kind.CLEAR, UserRepository.USERS_BY_LOGIN_CACHE, null)
+        );
+    }
+
+    @Test
+    void appliesTheInvalidationsOfTheOtherNodes() {
+        Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        Cache usersByEmail = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+        usersByLogin.put("admin", "admin");
+        usersByLogin.put("user", "user");
+        usersByEmail.put("admin@localhost", "admin");
+        List<Invalidation> invalidations = List.of(
+            Invalidation.key(UserRepository.USERS_BY_LOGIN_CACHE, "admin"),
+            Invalidation.clear(UserRepository.USERS_BY_EMAIL_CACHE)
+        );
+        String payload = newBus(new SimpleMeterRegistry()).encode(invalidations).get(0);
+
+        bus.receive(payload);
+
+        assertThat(usersByLogin.get("admin")).isNull();
+        assertThat(usersByLogin.get("user")).isNotNull();
+        assertThat(usersByEmail.get("admin@localhost")).isNull();
+        assertThat(meterRegistry.get(CacheInvalidationBus.RECEIVED_METER_NAME).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresItsOwnInvalidations() {
+        Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin.put("admin", "admin");
+
+        bus.receive(bus.encode(List.of(Invalidation.key(UserRepository.USERS_BY_LOGIN_CACHE, "admin"))).get(0));
+
+        assertThat(usersByLogin.get("admin")).isNotNull();
+    }
+
+    @Test
+    void ignoresMalformedAndUnknownInvalidations() {
+        bus.receive("not json");
+        bus.receive(newBus(new SimpleMeterRegistry()).encode(List.of(Invalidation.clear("unknown"))).get(0));
+
+        assertThat(meterRegistry.get(CacheInvalidationBus.RECEIVED_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    private CacheInvalidationBus newBus(MeterRegistry registry) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(
+            mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS)
+        );
+        return new CacheInvalidationBus(
+            new ApplicationProperties(),
+            mock(EntityManager.class),
+            entityManagerFactory,
+            cacheManager,
+            mock(PlatformTransactionManager.class),
+            objectMapper,
+            registry
+        );
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.intent.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.intent.IntegrationTest;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Query plan regression tests for the indexes of the {@code intent} table.
+ * <p>
+ * The test tables are nearly empty, so the planner would rightly prefer sequential scans and hash joins: they are
+ * disabled for the test transaction, which leaves an index scan as the cheapest plan whenever a usable index exists.
+ * On the partitioned table, the index of each partition is named after the columns of the parent index.
+ */
+@IntegrationTest
+@Transactional
+class IntentIndexIT {
+
+    private static final String ID = "'00000000-0000-0000-0000-000000000001'";
+
+    private static final String KEYSET = " order by created_time desc, id desc limit 20";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableScansWithoutIndex() {
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        jdbcTemplate.execute("set local enable_hashjoin = off");
+        jdbcTemplate.execute("set local enable_mergejoin = off");
+    }
+
+    @Test
+    void intentsOfTheCurrentUserUseTheUserIndex() {
+        // IntentRepository#findByUserIsCurrentUser
+        assertIndexScans(
+            "select i.id from intent i join jhi_user u on u.id = i.user_id where u.login = 'user'",
+            "user_id_created_time_id"
+        );
+    }
+
+    @Test
+    void intentsOfAUserUseTheUserIndex() {
+        assertIndexScans("select id from intent where user_id = " + ID + KEYSET, "user_id_created_time_id");
+    }
+
+    @Test
+    void intentsOfAStoreUseTheStoreIndex() {
+        assertIndexScans("select id from intent where store_id = " + ID + KEYSET, "store_id_created_time_id");
+        assertIndexScans(
+            "select id from intent where store_id = " + ID + " and created_time <= '2026-10-18 00:00:00'" + KEYSET,
+            "store_id_created_time_id"
+        );
+    }
+
+    @Test
+    void intentsOfAStoreManagerUseTheStoreManagerIndex() {
+        assertIndexScans("select id from intent where store_manager_id = " + ID + KEYSET, "store_manager_id_created_time_id");
+    }
+
+    @Test
+    void intentsOfAnArticleUseTheArticleIndex() {
+        assertIndexScans("select id from intent where article_id = " + ID + KEYSET, "article_id_created_time_id");
+    }
+
+    @Test
+    void intentsOfACouponUseTheCouponIndex() {
+        assertIndexScans("select id from intent where coupon_id = 'WELCOME'", "coupon_id");
+    }
+
+    @Test
+    void intentsOfACheckoutUseTheCheckoutIndex() {
+        assertIndexScans("select id from intent where rd_checkout_id = 'checkout'", "rd_checkout_id");
+    }
+
+    @Test
+    void intentsOfATimeRangeUseTheKeysetIndex() {
+        // IntentRepository#streamAllByCreatedTimeRange
+        assertIndexScans(
+            "select id from intent where created_time >= '2026-10-01 00:00:00' and created_time < '2026-10-18 00:00:00' " +
+            "order by created_time, id",
+            // Not one of the association indexes, which also end with these columns
+            "(?<=\\d{2}_|intent__|default_)created_time_id"
+        );
+    }
+
+    @Test
+    void anIntentByIdOnlyScansItsPartition() {
+        // IntentLocatorRepository: the creation time by id, then the intent by id and creation time
+        List<String> keyPlan = jdbcTemplate.queryForList("explain select created_time from intent_key where id = " + ID, String.class);
+        assertThat(keyPlan).anyMatch(line -> line.matches(".*Index Scan using pk_intent_key.*"));
+
+        // The partitions are created from the current month on
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        List<String> plan = jdbcTemplate.queryForList(
+            "explain select id from intent where id = " + ID + " and created_time = '" + month.atDay(1) + " 09:00:00'",
+            String.class
+        );
+        assertThat(plan).filteredOn(line -> line.matches(".* on intent_(p\\d{4}_\\d{2}|default)\\b.*")).hasSize(1);
+        assertThat(plan).anyMatch(line -> line.contains(String.format(" on intent_p%d_%02d ", month.getYear(), month.getMonthValue())));
+    }
+
+    private void assertIndexScans(String query, String indexColumns) {
+        List<String> plan = jdbcTemplate.queryForList("explain " + query, String.class);
+        Pattern intentIndexScan = Pattern.compile(".*Index (Only )?Scan.* (using|on) (idx_)?intent_\\w*" + indexColumns + "\\w*.*");
+
+        assertThat(plan).as("plan of %s", query).noneMatch(line -> line.contains("Seq Scan"));
+        assertThat(plan).as("plan of %s", query).anyMatch(line -> intentIndexScan.matcher(line).matches());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.intent.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(2);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        clients.shutdownNow();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void hashesOnItsOwnPool() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        encoder = new BoundedPasswordEncoder(
+            new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    threads.add(Thread.currentThread().getName());
+                    return bcrypt.encode(rawPassword);
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    threads.add(Thread.currentThread().getName());
+                    return bcrypt.matches(rawPassword, encodedPassword);
+                }
+            },
+            1,
+            1,
+            Duration.ofSeconds(5),
+            meterRegistry
+        );
+
+        String hash = encoder.encode("password");
+
+        assertThat(encoder.matches("password", hash)).isTrue();
+        assertThat(encoder.matches("other", hash)).isFalse();
+        assertThat(threads).containsOnly(BoundedPasswordEncoder.EXECUTOR_NAME + "-1").hasSize(3);
+    }
+
+    @Test
+    void upgradesTheHashesOfALowerCost() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+    }
+
+    @Test
+    void refusesTheHashingsBeyondTheQueue() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blocking(hashing, released), 1, 1, Duration.ofSeconds(5), meterRegistry);
+        clients.submit(() -> encoder.encode("running"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        clients.submit(() -> encoder.encode("queued"));
+        // Give the second hashing the time to be queued
+        Thread.sleep(200);
+
+        try {
+            assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> encoder.encode("refused"));
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+        } finally {
+            released.countDown();
+        }
+    }
+
+    @Test
+    void refusesTheHashingsWaitingTooLong() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blocking(hashing, released), 1, 10, Duration.ofMillis(100), meterRegistry);
+        clients.submit(() -> encoder.encode("running"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> encoder.matches("waiting", "hash"));
+            // The running hashing is past its wait timeout too
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_METER_NAME).counter().count()).isPositive();
+        } finally {
+            released.countDown();
+        }
+    }
+
+    private static PasswordEncoder blocking(CountDownLatch hashing, CountDownLatch released) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.intent.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.intent.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtDecoder delegate;
+
+    private Cache cache;
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JwtDecoder.class);
+        cache = new ConcurrentMapCache(CachingJwtDecoder.VERIFIED_TOKENS_CACHE);
+        decoder = new CachingJwtDecoder(delegate, cache, new SecurityMetersService(meterRegistry), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void verifiesATokenOnce() {
+        Jwt jwt = jwt("token", NOW.plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+
+        verify(delegate, times(1)).decode("token");
+        assertThat(cache.get(CachingJwtDecoder.digest("token"))).isNotNull();
+        assertThat(cache.get("token")).isNull();
+        assertThat(count("hit")).isEqualTo(2);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotUseACachedTokenOnceExpired() {
+        Jwt jwt = jwt("token", NOW.minusSeconds(1));
+        cache.put(CachingJwtDecoder.digest("token"), jwt);
+        when(delegate.decode("token")).thenThrow(new BadJwtException("expired"));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("token"));
+
+        assertThat(cache.get(CachingJwtDecoder.digest("token"))).isNull();
+        assertThat(count("hit")).isZero();
+    }
+
+    @Test
+    void doesNotCacheTheRejectedTokens() {
+        when(delegate.decode("token")).thenThrow(new BadJwtException("invalid"));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("token"));
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("token"));
+
+        verify(delegate, times(2)).decode("token");
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheTheTokensWithoutExpiry() {
+        Jwt jwt = jwt("token", null);
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", result).counter().count();
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+            .header("alg", "HS512")
+            .subject("user")
+            .issuedAt(NOW.minusSeconds(600))
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
@@ -7,6 +7,7 @@ import com.example.intent.IntegrationTest;
 import com.example.intent.domain.User;
 import com.example.intent.repository.UserRepository;
 import com.example.intent.service.UserService;
+import com.example.intent.service.dto.AdminUserDTO;
 import java.util.Locale;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -31,6 +33,8 @@ class DomainUserDetailsServiceIT {
     private static final String USER_TWO_EMAIL = "test-user-two@localhost";
     private static final String USER_THREE_LOGIN = "test-user-three";
     private static final String USER_THREE_EMAIL = "test-user-three@localhost";
+    private static final String USER_FOUR_LOGIN = "test-user-four";
+    private static final String USER_FOUR_EMAIL = "test-user-four@localhost";
 
     @Autowired
     private UserRepository userRepository;
@@ -42,6 +46,9 @@ class DomainUserDetailsServiceIT {
     @Qualifier("userDetailsService")
     private UserDetailsService domainUserDetailsService;
 
+    @Autowired
+    private UnknownUserCache unknownUserCache;
+
     public User getUserOne() {
         User userOne = new User();
         userOne.setLogin(USER_ONE_LOGIN);
@@ -90,6 +97,7 @@ class DomainUserDetailsServiceIT {
         userService.deleteUser(USER_ONE_LOGIN);
         userService.deleteUser(USER_TWO_LOGIN);
         userService.deleteUser(USER_THREE_LOGIN);
+        userService.deleteUser(USER_FOUR_LOGIN);
     }
 
     @Test
@@ -133,4 +141,28 @@ class DomainUserDetailsServiceIT {
             domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatUnknownUserIsRememberedUntilRegistered() {
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN)
+        );
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_EMAIL.toUpperCase(Locale.ENGLISH))
+        );
+        assertThat(unknownUserCache.isUnknown(USER_FOUR_LOGIN)).isTrue();
+        assertThat(unknownUserCache.isUnknown(USER_FOUR_EMAIL)).isTrue();
+
+        AdminUserDTO userFour = new AdminUserDTO();
+        userFour.setLogin(USER_FOUR_LOGIN);
+        userFour.setEmail(USER_FOUR_EMAIL);
+        userFour.setLangKey("en");
+        userService.registerUser(userFour, RandomStringUtils.insecure().nextAlphanumeric(10));
+
+        assertThat(unknownUserCache.isUnknown(USER_FOUR_LOGIN)).isFalse();
+        assertThat(unknownUserCache.isUnknown(USER_FOUR_EMAIL)).isFalse();
+        assertThatExceptionOfType(UserNotActivatedException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN)
+        );
+    }
 }
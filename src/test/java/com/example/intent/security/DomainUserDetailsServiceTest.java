@@ -0,0 +1,123 @@
+package com.example.intent.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.intent.domain.User;
+import com.example.intent.repository.UserRepository;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+class DomainUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+
+    private UnknownUserCache unknownUserCache;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        unknownUserCache = new UnknownUserCache(new ConcurrentMapCacheManager(UserRepository.UNKNOWN_USERS_CACHE));
+        domainUserDetailsService = new DomainUserDetailsService(userRepository, unknownUserCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void remembersTheUnknownLogins() {
+        when(userRepository.findOneWithAuthoritiesByLogin("unknown")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+                domainUserDetailsService.loadUserByUsername("Unknown")
+            );
+        }
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("unknown");
+    }
+
+    @Test
+    void looksUpAgainOnceForgotten() {
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenReturn(Optional.empty());
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() -> domainUserDetailsService.loadUserByUsername("user"));
+
+        unknownUserCache.forget("user", "user@localhost");
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenReturn(Optional.of(user()));
+
+        assertThat(domainUserDetailsService.loadUserByUsername("user").getUsername()).isEqualTo("user");
+    }
+
+    @Test
+    void doesNotRememberALookupWhichStartedBeforeAnInvalidation() {
+        long generation = unknownUserCache.generation();
+        unknownUserCache.forget("user");
+
+        unknownUserCache.remember("user", generation);
+
+        assertThat(unknownUserCache.isUnknown("user")).isFalse();
+    }
+
+    @Test
+    void coalescesTheConcurrentLookupsOfALogin() throws Exception {
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch lookupReleased = new CountDownLatch(1);
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenAnswer(invocation -> {
+            lookupStarted.countDown();
+            lookupReleased.await(5, TimeUnit.SECONDS);
+            return Optional.of(user());
+        });
+
+        CompletableFuture<UserDetails> first = CompletableFuture.supplyAsync(
+            () -> domainUserDetailsService.loadUserByUsername("user"),
+            executor
+        );
+        assertThat(lookupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserDetails> second = CompletableFuture.supplyAsync(
+            () -> domainUserDetailsService.loadUserByUsername("USER"),
+            executor
+        );
+        // Give the second lookup the time to join the first one
+        Thread.sleep(200);
+        lookupReleased.countDown();
+
+        UserDetails firstUser = first.get(5, TimeUnit.SECONDS);
+        UserDetails secondUser = second.get(5, TimeUnit.SECONDS);
+        assertThat(firstUser.getUsername()).isEqualTo("user");
+        assertThat(secondUser.getPassword()).isEqualTo(firstUser.getPassword());
+        assertThat(secondUser).isNotSameAs(firstUser);
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("user");
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setLogin("user");
+        user.setPassword("$2a$10$" + "x".repeat(53));
+        user.setActivated(true);
+        user.setAuthorities(Set.of());
+        return user;
+    }
+}
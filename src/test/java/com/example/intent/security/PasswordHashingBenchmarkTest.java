@@ -0,0 +1,92 @@
+package com.example.intent.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+/**
+ * Login throughput through the {@link BoundedPasswordEncoder}, as many clients logging in at once as there are
+ * CPUs, four times over.
+ * <p>
+ * Only run on demand, with {@code ./mvnw test -Dtest=PasswordHashingBenchmarkTest -Dbenchmark=true}: it reports the
+ * logins per second, the 99th percentile of their latency, and how many were refused.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordHashingBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingBenchmarkTest.class);
+
+    private static final int STRENGTH = 10;
+
+    private static final int LOGINS_PER_CLIENT = 20;
+
+    @Test
+    void measuresTheLoginThroughput() throws Exception {
+        int clients = Runtime.getRuntime().availableProcessors() * 4;
+        try (
+            BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(STRENGTH),
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                200,
+                Duration.ofSeconds(5),
+                new SimpleMeterRegistry()
+            )
+        ) {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider(encoder);
+            provider.setUserDetailsService(
+                new InMemoryUserDetailsManager(User.withUsername("user").password(encoder.encode("password")).roles("USER").build())
+            );
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger refused = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(clients);
+            long start = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < LOGINS_PER_CLIENT; j++) {
+                        long loginStart = System.nanoTime();
+                        try {
+                            provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+                            latencies.add(System.nanoTime() - loginStart);
+                        } catch (PasswordHashingRejectedException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            long p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+            LOG.info(
+                "{} clients, cost {}: {} logins/s, p99 {} ms, {} refused",
+                clients,
+                STRENGTH,
+                String.format("%.1f", latencies.size() / seconds),
+                TimeUnit.NANOSECONDS.toMillis(p99),
+                refused.get()
+            );
+            assertThat(latencies).isNotEmpty();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.intent.security.jwt;
 
+import com.example.intent.config.ApplicationProperties;
 import com.example.intent.config.SecurityConfiguration;
 import com.example.intent.config.SecurityJwtConfiguration;
 import com.example.intent.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -4,6 +4,7 @@ import static com.example.intent.security.AuthoritiesConstants.ADMIN;
 import static com.example.intent.security.SecurityUtils.AUTHORITIES_CLAIM;
 import static com.example.intent.security.SecurityUtils.JWT_ALGORITHM;
 
+import com.example.intent.service.RefreshTokenService;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -13,6 +14,7 @@ import java.util.Collections;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.codec.Hex;
 import org.springframework.security.oauth2.jwt.JwsHeader;
@@ -36,6 +38,11 @@ public class JwtAuthenticationTestUtils {
         return new SimpleMeterRegistry();
     }
 
+    @Bean
+    private RefreshTokenService refreshTokenService() {
+        return Mockito.mock(RefreshTokenService.class);
+    }
+
     public static String createValidToken(String jwtKey) {
         return createValidTokenForUser(jwtKey, "anonymous");
     }
@@ -0,0 +1,113 @@
+package com.example.intent.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.intent.IntegrationTest;
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.Article;
+import com.example.intent.domain.Store;
+import com.example.intent.repository.ArticleRepository;
+import com.example.intent.repository.StoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ * <p>
+ * Not transactional: the warm-up reads the reference data from other threads and transactions, so the entities
+ * are committed before it runs and deleted afterwards.
+ */
+@IntegrationTest
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor executor;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private List<Article> articles;
+
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        articles = articleRepository.saveAllAndFlush(
+            List.of(new Article().price(BigDecimal.ONE), new Article().price(BigDecimal.valueOf(2)), new Article().price(BigDecimal.TEN))
+        );
+        store = storeRepository.saveAndFlush(new Store().name("warm-up"));
+        entityManagerFactory.getCache().evictAll();
+
+        ApplicationProperties.Cache.WarmUp warmUp = applicationProperties.getCache().getWarmUp();
+        warmUp.setEnabled(true);
+        warmUp.setRegions(List.of("article", "store"));
+        warmUp.setChunkSize(2);
+        warmUp.setTimeout(Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleRepository.deleteAll(articles);
+        storeRepository.delete(store);
+    }
+
+    @Test
+    void loadsTheConfiguredRegionsIntoTheCache() throws Exception {
+        CacheWarmUpService cacheWarmUpService = newCacheWarmUpService();
+        assertThat(cacheWarmUpService.isComplete()).isFalse();
+
+        cacheWarmUpService.warmUp().get(30, TimeUnit.SECONDS);
+
+        assertThat(cacheWarmUpService.isComplete()).isTrue();
+        articles.forEach(article -> assertThat(entityManagerFactory.getCache().contains(Article.class, article.getId())).isTrue());
+        assertThat(entityManagerFactory.getCache().contains(Store.class, store.getId())).isTrue();
+        assertThat(meterRegistry.get(CacheWarmUpService.PROGRESS_METER_NAME).tag("region", "article").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(CacheWarmUpService.CHUNKS_METER_NAME).tag("outcome", "loaded").counters()).isNotEmpty();
+        assertThat(meterRegistry.get(CacheWarmUpService.DURATION_METER_NAME).tag("outcome", "completed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void isCompleteRightAwayWhenDisabled() {
+        applicationProperties.getCache().getWarmUp().setEnabled(false);
+
+        CacheWarmUpService cacheWarmUpService = newCacheWarmUpService();
+
+        assertThat(cacheWarmUpService.isComplete()).isTrue();
+        assertThat(cacheWarmUpService.warmUp()).isCompleted();
+        assertThat(entityManagerFactory.getCache().contains(Store.class, store.getId())).isFalse();
+    }
+
+    private CacheWarmUpService newCacheWarmUpService() {
+        return new CacheWarmUpService(applicationProperties, entityManager, transactionManager, executor, meterRegistry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.intent.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.intent.repository.IntentSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntentExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IntentExportService intentExportService;
+
+    private IntentSummary intent;
+
+    @BeforeEach
+    void setUp() {
+        intentExportService = new IntentExportService(null, objectMapper);
+        intent = new IntentSummary(
+            UUID.randomUUID(),
+            new BigDecimal("12.50"),
+            Instant.parse("2025-07-23T07:31:53Z"),
+            "store, \"north\"",
+            null,
+            null,
+            null,
+            null,
+            null,
+            UUID.randomUUID(),
+            null,
+            null,
+            0L
+        );
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        long count = intentExportService.write(Stream.of(intent, intent), IntentExportService.Format.NDJSON, writer);
+
+        assertThat(count).isEqualTo(2);
+        String[] lines = writer.toString().split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.get("id").asText()).isEqualTo(intent.id().toString());
+        assertThat(row.get("commission").decimalValue()).isEqualByComparingTo("12.50");
+        assertThat(row.get("createdTime").asText()).isEqualTo("2025-07-23T07:31:53Z");
+        assertThat(row.get("storeId").asText()).isEqualTo(intent.storeId().toString());
+        assertThat(row.get("userId").isNull()).isTrue();
+    }
+
+    @Test
+    void writesCsvWithHeaderAndEscaping() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        long count = intentExportService.write(Stream.of(intent), IntentExportService.Format.CSV, writer);
+
+        assertThat(count).isEqualTo(1);
+        String[] lines = writer.toString().split("\r\n");
+        assertThat(lines[0]).isEqualTo(String.join(",", IntentExportService.COLUMNS));
+        assertThat(lines[1]).startsWith(intent.id() + ",12.50,2025-07-23T07:31:53Z,\"store, \"\"north\"\"\",,,,,,");
+        assertThat(lines[1]).endsWith("," + intent.storeId() + ",,");
+    }
+
+    @Test
+    void parsesFormatNamesIgnoringCase() {
+        assertThat(IntentExportService.Format.fromName("csv")).contains(IntentExportService.Format.CSV);
+        assertThat(IntentExportService.Format.fromName("NDJSON")).contains(IntentExportService.Format.NDJSON);
+        assertThat(IntentExportService.Format.fromName("xml")).isEmpty();
+    }
+}
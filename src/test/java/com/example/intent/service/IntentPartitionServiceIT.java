@@ -0,0 +1,145 @@
+package com.example.intent.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.intent.IntegrationTest;
+import com.example.intent.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link IntentPartitionService}.
+ * <p>
+ * The partition changes are rolled back with the test transaction; partitions are made far in the future so that
+ * they do not overlap the ones created by Liquibase.
+ */
+@IntegrationTest
+@Transactional
+class IntentPartitionServiceIT {
+
+    private static final YearMonth FUTURE = YearMonth.of(2100, 1);
+
+    @Autowired
+    private IntentPartitionService intentPartitionService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void createsPartitionsAhead() {
+        intentPartitionService.maintainPartitions(FUTURE);
+
+        List<YearMonth> months = intentPartitionService.findPartitionMonths();
+        for (int i = 0; i <= applicationProperties.getPartitioning().getMonthsAhead(); i++) {
+            assertThat(months).contains(FUTURE.plusMonths(i));
+        }
+        assertThat(IntentPartitionService.partitionName(FUTURE)).isEqualTo("intent_p2100_01");
+        assertThat(IntentPartitionService.partitionMonth("intent_p2100_01")).contains(FUTURE);
+        assertThat(IntentPartitionService.partitionMonth("intent_default")).isEmpty();
+    }
+
+    @Test
+    void detachesPartitionsOlderThanRetentionToArchiveSchema() {
+        intentPartitionService.maintainPartitions(FUTURE);
+
+        intentPartitionService.maintainPartitions(FUTURE.plusMonths(applicationProperties.getPartitioning().getRetentionMonths() + 1));
+
+        List<YearMonth> months = intentPartitionService.findPartitionMonths();
+        assertThat(months).doesNotContain(FUTURE).contains(FUTURE.plusMonths(1));
+        Integer archived = jdbcTemplate.queryForObject(
+            "select count(*) from pg_tables where schemaname = ? and tablename = ?",
+            Integer.class,
+            applicationProperties.getPartitioning().getArchiveSchema(),
+            "intent_p2100_01"
+        );
+        assertThat(archived).isEqualTo(1);
+    }
+
+    @Test
+    void movesTheIntentsOfANewPartitionOutOfTheDefaultOne() {
+        YearMonth later = FUTURE.plusYears(10);
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+            "insert into intent (id, created_time, version) values (?, ?, 0)",
+            id,
+            Timestamp.valueOf(LocalDateTime.of(2110, 1, 15, 12, 0))
+        );
+        double created = count("create");
+
+        intentPartitionService.maintainPartitions(later);
+
+        assertThat(intentPartitionService.findPartitionMonths()).contains(later);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from intent_p2110_01 where id = ?", Integer.class, id)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from intent_default where id = ?", Integer.class, id)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from intent where id = ?", Integer.class, id)).isEqualTo(1);
+        assertThat(count("create")).isEqualTo(created + applicationProperties.getPartitioning().getMonthsAhead() + 1);
+    }
+
+    @Test
+    void handlesTheMonthsOfTheDefaultPartitionOutsideOfTheWindow() {
+        UUID kept = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        String insert = "insert into intent (id, created_time, version) values (?, ?, 0)";
+        jdbcTemplate.update(insert, kept, Timestamp.valueOf(LocalDateTime.of(2099, 6, 15, 12, 0)));
+        jdbcTemplate.update(insert, expired, Timestamp.valueOf(LocalDateTime.of(1990, 1, 15, 12, 0)));
+        assertThat(intentPartitionService.findDefaultPartitionMonths()).contains(YearMonth.of(2099, 6), YearMonth.of(1990, 1));
+        double archived = count("archive");
+
+        intentPartitionService.maintainPartitions(FUTURE);
+
+        assertThat(intentPartitionService.findDefaultPartitionMonths()).doesNotContain(YearMonth.of(2099, 6), YearMonth.of(1990, 1));
+        assertThat(intentPartitionService.findPartitionMonths()).contains(YearMonth.of(2099, 6)).doesNotContain(YearMonth.of(1990, 1));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from intent_p2099_06 where id = ?", Integer.class, kept)).isEqualTo(1);
+        String archive = applicationProperties.getPartitioning().getArchiveSchema() + ".intent_p1990_01";
+        assertThat(jdbcTemplate.queryForObject("select count(*) from " + archive + " where id = ?", Integer.class, expired)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from intent where id = ?", Integer.class, expired)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from intent_key where id = ?", Integer.class, expired)).isZero();
+        assertThat(count("archive")).isEqualTo(archived + 1);
+    }
+
+    @Test
+    void keepsTheIdsUniqueAcrossThePartitions() {
+        intentPartitionService.maintainPartitions(FUTURE);
+        UUID id = UUID.randomUUID();
+        String insert = "insert into intent (id, created_time, version) values (?, ?, 0)";
+        jdbcTemplate.update(insert, id, Timestamp.valueOf(LocalDateTime.of(2100, 1, 15, 12, 0)));
+
+        assertThatThrownBy(() -> jdbcTemplate.update(insert, id, Timestamp.valueOf(LocalDateTime.of(2100, 2, 15, 12, 0))))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void timeBoundedQueriesOnlyScanTheirPartitions() {
+        intentPartitionService.maintainPartitions(FUTURE);
+
+        String plan = String.join(
+            "\n",
+            jdbcTemplate.queryForList(
+                "explain select id from intent where created_time >= '2100-02-01 00:00:00' and created_time < '2100-03-01 00:00:00'",
+                String.class
+            )
+        );
+
+        assertThat(plan).contains("intent_p2100_02").doesNotContain("intent_p2100_01").doesNotContain("intent_default");
+    }
+
+    private double count(String operation) {
+        return meterRegistry.get(IntentPartitionService.METER_NAME).tag("operation", operation).tag("result", "success").counter().count();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.intent.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.service.dto.IntentBulkResultDTO;
+import com.example.intent.service.dto.IntentBulkResultDTO.ItemResult;
+import com.example.intent.service.dto.IntentDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+class IntentWriteBufferTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private IntentService intentService;
+
+    private IntentWriteBuffer intentWriteBuffer;
+
+    @BeforeEach
+    void setUp() {
+        intentService = mock(IntentService.class);
+        when(intentService.createAll(anyList())).thenAnswer(IntentWriteBufferTest::createAll);
+        ApplicationProperties.Ingestion.Buffer buffer = applicationProperties.getIngestion().getBuffer();
+        buffer.setEnabled(true);
+        buffer.setCapacity(10);
+        buffer.setMaxBatchSize(3);
+        buffer.setMaxDelay(Duration.ofSeconds(10));
+        buffer.setOfferTimeout(Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (intentWriteBuffer != null) {
+            intentWriteBuffer.stop();
+        }
+    }
+
+    @Test
+    void flushesWhenTheBatchIsFull() throws Exception {
+        startBuffer();
+
+        List<CompletableFuture<ItemResult>> acknowledgements = List.of(submit(), submit(), submit());
+
+        for (CompletableFuture<ItemResult> acknowledgement : acknowledgements) {
+            assertThat(acknowledgement.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(IntentBulkResultDTO.Status.CREATED);
+        }
+        verify(intentService, times(1)).createAll(anyList());
+        assertThat(meterRegistry.get(IntentWriteBuffer.BATCH_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get(IntentWriteBuffer.FLUSH_METER_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flushesWhenTheFirstIntentHasWaitedLongEnough() throws Exception {
+        applicationProperties.getIngestion().getBuffer().setMaxDelay(Duration.ofMillis(20));
+        startBuffer();
+
+        ItemResult result = submit().get(5, TimeUnit.SECONDS);
+
+        assertThat(result.getStatus()).isEqualTo(IntentBulkResultDTO.Status.CREATED);
+        assertThat(result.getId()).isNotNull();
+        assertThat(meterRegistry.get(IntentWriteBuffer.BATCH_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesIntentsWhenFull() throws Exception {
+        applicationProperties.getIngestion().getBuffer().setCapacity(1);
+        applicationProperties.getIngestion().getBuffer().setMaxBatchSize(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(intentService.createAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return createAll(invocation);
+        });
+        startBuffer();
+
+        CompletableFuture<ItemResult> written = submit();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ItemResult> queued = submit();
+
+        assertThat(meterRegistry.get(IntentWriteBuffer.DEPTH_METER_NAME).gauge().value()).isEqualTo(1);
+        assertThatExceptionOfType(IntentBufferFullException.class).isThrownBy(this::submit);
+        assertThat(meterRegistry.get(IntentWriteBuffer.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(written.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(IntentBulkResultDTO.Status.CREATED);
+        assertThat(queued.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(IntentBulkResultDTO.Status.CREATED);
+    }
+
+    @Test
+    void failsTheWholeBatchWhenItCannotBeWritten() throws Exception {
+        applicationProperties.getIngestion().getBuffer().setMaxBatchSize(1);
+        when(intentService.createAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        startBuffer();
+
+        CompletableFuture<ItemResult> acknowledgement = submit();
+
+        assertThatExceptionOfType(ExecutionException.class)
+            .isThrownBy(() -> acknowledgement.get(5, TimeUnit.SECONDS))
+            .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void writesTheQueuedIntentsWhenStopping() throws Exception {
+        startBuffer();
+
+        CompletableFuture<ItemResult> acknowledgement = submit();
+        intentWriteBuffer.stop();
+
+        assertThat(acknowledgement.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(IntentBulkResultDTO.Status.CREATED);
+        assertThatExceptionOfType(IntentBufferFullException.class).isThrownBy(this::submit);
+    }
+
+    @Test
+    void refusesIntentsWhenDisabled() {
+        applicationProperties.getIngestion().getBuffer().setEnabled(false);
+        startBuffer();
+
+        assertThat(intentWriteBuffer.isEnabled()).isFalse();
+        assertThatExceptionOfType(IntentBufferFullException.class).isThrownBy(this::submit);
+    }
+
+    private void startBuffer() {
+        intentWriteBuffer = new IntentWriteBuffer(intentService, applicationProperties, meterRegistry);
+        intentWriteBuffer.start();
+    }
+
+    private CompletableFuture<ItemResult> submit() throws InterruptedException {
+        IntentDTO intentDTO = new IntentDTO();
+        intentDTO.setCreatedTime(Instant.now());
+        return intentWriteBuffer.submit(intentDTO);
+    }
+
+    private static IntentBulkResultDTO createAll(InvocationOnMock invocation) {
+        List<IntentDTO> intentDTOs = invocation.getArgument(0);
+        return new IntentBulkResultDTO(
+            IntStream.range(0, intentDTOs.size()).mapToObj(index -> ItemResult.created(index, UUID.randomUUID())).toList()
+        );
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.intent.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.OutgoingMail;
+import com.example.intent.repository.OutgoingMailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.jhipster.config.JHipsterProperties;
+
+class MailOutboxSenderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T09:00:00Z");
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutgoingMailRepository outgoingMailRepository;
+
+    private FakeSmtpServer smtpServer;
+
+    private JavaMailSenderImpl javaMailSender;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private MailOutboxSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outgoingMailRepository = mock(OutgoingMailRepository.class);
+        smtpServer = new FakeSmtpServer("bounce@example.com");
+        javaMailSender = spy(new JavaMailSenderImpl());
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(smtpServer.getPort());
+        Properties properties = new Properties();
+        properties.setProperty("mail.smtp.connectiontimeout", "2000");
+        properties.setProperty("mail.smtp.timeout", "2000");
+        javaMailSender.setJavaMailProperties(properties);
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("intentApp@localhost");
+        ApplicationProperties.Mail.Outbox outbox = applicationProperties.getMail().getOutbox();
+        outbox.setBatchSize(10);
+        outbox.setMaxAttempts(3);
+        outbox.setInitialBackoff(Duration.ofMinutes(1));
+        outbox.setMaxBackoff(Duration.ofMinutes(3));
+        outbox.setLease(Duration.ofMinutes(5));
+        this.jHipsterProperties = jHipsterProperties;
+        sender = newSender(new SyncTaskExecutor());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtpServer.close();
+    }
+
+    @Test
+    void sendsABatchOverOneConnection() {
+        List<OutgoingMail> due = List.of(mail("first@example.com"), mail("second@example.com"), mail("third@example.com"));
+        when(outgoingMailRepository.findDueForUpdate(NOW, 10)).thenReturn(due);
+
+        assertThat(sender.sendPendingEmails()).isEqualTo(3);
+
+        assertThat(smtpServer.getConnections()).isEqualTo(1);
+        assertThat(smtpServer.getReceived())
+            .extracting(FakeSmtpServer.Received::recipient)
+            .containsExactly("first@example.com", "second@example.com", "third@example.com");
+        assertThat(deleted()).containsExactlyElementsOf(due.stream().map(OutgoingMail::getId).toList());
+        assertThat(count("sent")).isEqualTo(3);
+    }
+
+    @Test
+    void attemptsTheRefusedEmailsAgainLater() {
+        OutgoingMail refused = mail("bounce@example.com");
+        OutgoingMail accepted = mail("user@example.com");
+        when(outgoingMailRepository.findDueForUpdate(NOW, 10)).thenReturn(List.of(refused, accepted));
+
+        assertThat(sender.sendPendingEmails()).isEqualTo(1);
+
+        assertThat(smtpServer.getConnections()).isEqualTo(1);
+        assertThat(deleted()).containsExactly(accepted.getId());
+        verify(outgoingMailRepository).reschedule(
+            eq(refused.getId()),
+            eq(1),
+            eq(NOW.plus(Duration.ofMinutes(1))),
+            argThat(error -> error != null && !error.isBlank())
+        );
+        assertThat(count("retried")).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() throws Exception {
+        smtpServer.close();
+        OutgoingMail retried = mail("user@example.com");
+        OutgoingMail lastAttempt = mail("admin@example.com");
+        lastAttempt.setAttempts(2);
+        when(outgoingMailRepository.findDueForUpdate(NOW, 10)).thenReturn(List.of(retried, lastAttempt));
+
+        assertThat(sender.sendPendingEmails()).isZero();
+
+        verify(outgoingMailRepository, never()).deleteAllByIdInBatch(any());
+        verify(outgoingMailRepository).reschedule(eq(retried.getId()), eq(1), eq(NOW.plus(Duration.ofMinutes(1))), any());
+        verify(outgoingMailRepository).reschedule(eq(lastAttempt.getId()), eq(3), isNull(), any());
+        assertThat(count("abandoned")).isEqualTo(1);
+    }
+
+    @Test
+    void stopsOnceABatchCouldNotBeSent() throws Exception {
+        smtpServer.close();
+        List<OutgoingMail> due = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            due.add(mail("user" + i + "@example.com"));
+        }
+        when(outgoingMailRepository.findDueForUpdate(any(), anyInt())).thenReturn(due);
+
+        sender.sendPendingEmails();
+
+        verify(outgoingMailRepository).findDueForUpdate(NOW, 10);
+        assertThat(count("retried")).isEqualTo(10);
+    }
+
+    @Test
+    void doublesTheBackoffUpToTheMaximum() {
+        ApplicationProperties.Mail.Outbox outbox = applicationProperties.getMail().getOutbox();
+
+        assertThat(MailOutboxSender.backoff(1, outbox)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(MailOutboxSender.backoff(2, outbox)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(MailOutboxSender.backoff(3, outbox)).isEqualTo(Duration.ofMinutes(3));
+        assertThat(MailOutboxSender.backoff(30, outbox)).isEqualTo(Duration.ofMinutes(3));
+    }
+
+    @Test
+    void sendsNothingWhenNothingIsDue() {
+        when(outgoingMailRepository.findDueForUpdate(NOW, 10)).thenReturn(List.of());
+
+        assertThat(sender.sendPendingEmails()).isZero();
+
+        assertThat(smtpServer.getConnections()).isZero();
+        verify(outgoingMailRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void sendsOutsideOfTheTransactionClaimingTheEmails() {
+        OutgoingMail mail = mail("user@example.com");
+        when(outgoingMailRepository.findDueForUpdate(NOW, 10)).thenReturn(List.of(mail));
+
+        sender.sendPendingEmails();
+
+        assertThat(mail.getNextAttemptAt()).isEqualTo(NOW.plus(Duration.ofMinutes(5)));
+        InOrder inOrder = inOrder(transactionManager, outgoingMailRepository, javaMailSender);
+        inOrder.verify(outgoingMailRepository).findDueForUpdate(NOW, 10);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(javaMailSender).send(any(MimeMessage[].class));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outgoingMailRepository).deleteAllByIdInBatch(List.of(mail.getId()));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void requestsASendAgainOnceARequestWasDropped() {
+        List<Runnable> queued = new ArrayList<>();
+        MailOutboxSender requested = newSender(queued::add);
+        when(outgoingMailRepository.findDueForUpdate(any(), anyInt())).thenReturn(List.of());
+
+        requested.requestSend();
+        requested.requestSend();
+        assertThat(queued).hasSize(1);
+
+        // Dropped by the executor for a newer task, then the scheduled run
+        queued.clear();
+        requested.sendPendingEmails();
+        requested.requestSend();
+
+        assertThat(queued).hasSize(1);
+    }
+
+    private MailOutboxSender newSender(Executor mailExecutor) {
+        return new MailOutboxSender(
+            outgoingMailRepository,
+            javaMailSender,
+            jHipsterProperties,
+            applicationProperties,
+            transactionManager,
+            mailExecutor,
+            meterRegistry,
+            Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UUID> deleted() {
+        ArgumentCaptor<Iterable<UUID>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(outgoingMailRepository).deleteAllByIdInBatch(captor.capture());
+        List<UUID> deleted = new ArrayList<>();
+        captor.getValue().forEach(deleted::add);
+        return deleted;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(MailOutboxSender.METER_NAME).tag("result", result).counter().count();
+    }
+
+    private static OutgoingMail mail(String recipient) {
+        OutgoingMail mail = new OutgoingMail();
+        mail.setId(UUID.randomUUID());
+        mail.setRecipient(recipient);
+        mail.setSubject("Subject");
+        mail.setContent("<html>content</html>");
+        mail.setHtml(true);
+        mail.setCreatedDate(NOW);
+        mail.setNextAttemptAt(NOW);
+        return mail;
+    }
+}
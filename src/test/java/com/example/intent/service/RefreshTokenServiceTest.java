@@ -0,0 +1,108 @@
+package com.example.intent.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.intent.config.ApplicationProperties;
+import com.example.intent.domain.RefreshToken;
+import com.example.intent.domain.User;
+import com.example.intent.repository.RefreshTokenLookup;
+import com.example.intent.repository.RefreshTokenRepository;
+import com.example.intent.repository.UserRepository;
+import com.example.intent.security.InvalidRefreshTokenException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class RefreshTokenServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private static final UUID FAMILY_ID = UUID.randomUUID();
+
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private UserRepository userRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        userRepository = mock(UserRepository.class);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, userRepository, new ApplicationProperties());
+        User user = new User();
+        user.setId(USER_ID);
+        user.setLogin("user");
+        user.setPassword("$2a$10$" + "x".repeat(53));
+        user.setActivated(true);
+        user.setAuthorities(Set.of());
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void storesTheDigestOfTheTokensOnly() {
+        String token = refreshTokenService.issue(USER_ID);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(RefreshTokenService.digest(token)).isNotEqualTo(token);
+        assertThat(saved.getValue().getExpiresAt()).isAfter(Instant.now().plus(29, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void rotatesATokenWithinItsFamily() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        lookup("token", expiresAt);
+        when(refreshTokenRepository.markUsed(any(), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("token");
+
+        assertThat(rotation.user().getId()).isEqualTo(USER_ID);
+        assertThat(rotation.refreshToken()).isNotEqualTo("token");
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(FAMILY_ID);
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    void revokesTheFamilyOfATokenUsedAgain() {
+        lookup("token", Instant.now().plus(1, ChronoUnit.DAYS));
+        when(refreshTokenRepository.markUsed(any(), any())).thenReturn(0);
+
+        assertThatExceptionOfType(InvalidRefreshTokenException.class).isThrownBy(() -> refreshTokenService.rotate("token"));
+
+        verify(refreshTokenRepository).deleteByFamilyId(FAMILY_ID);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refusesExpiredAndUnknownTokens() {
+        when(refreshTokenRepository.findLookupByTokenHash(anyString())).thenReturn(Optional.empty());
+        lookup("expired", Instant.now().minusSeconds(1));
+
+        assertThatExceptionOfType(InvalidRefreshTokenException.class).isThrownBy(() -> refreshTokenService.rotate("expired"));
+        assertThatExceptionOfType(InvalidRefreshTokenException.class).isThrownBy(() -> refreshTokenService.rotate("unknown"));
+
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+    }
+
+    private void lookup(String token, Instant expiresAt) {
+        when(refreshTokenRepository.findLookupByTokenHash(eq(RefreshTokenService.digest(token)))).thenReturn(
+            Optional.of(new RefreshTokenLookup(UUID.randomUUID(), FAMILY_ID, USER_ID, "user", expiresAt))
+        );
+    }
+}
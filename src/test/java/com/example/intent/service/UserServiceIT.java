@@ -5,7 +5,10 @@ import static org.mockito.Mockito.when;
 
 import com.example.intent.IntegrationTest;
 import com.example.intent.domain.User;
+import com.example.intent.repository.AuthorityRepository;
 import com.example.intent.repository.UserRepository;
+import com.example.intent.security.AuthoritiesConstants;
+import com.example.intent.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -21,6 +24,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
@@ -53,6 +57,9 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
@@ -205,4 +212,33 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    @WithMockUser(DEFAULT_LOGIN)
+    void assertThatAccountIsCachedUntilTheUserChanges() {
+        user.getAuthorities().add(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow());
+        userRepository.saveAndFlush(user);
+
+        AdminUserDTO account = userService.getAccount().orElseThrow();
+        assertThat(userService.getAccount()).containsSame(account);
+        assertThat(cacheManager.getCache(UserService.ACCOUNTS_CACHE).get(DEFAULT_LOGIN)).isNotNull();
+
+        userService.updateUser("jane", DEFAULT_LASTNAME, DEFAULT_EMAIL, DEFAULT_LANGKEY, DEFAULT_IMAGEURL);
+
+        assertThat(cacheManager.getCache(UserService.ACCOUNTS_CACHE).get(DEFAULT_LOGIN)).isNull();
+        assertThat(userService.getAccount().orElseThrow().getFirstName()).isEqualTo("jane");
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(value = DEFAULT_LOGIN, authorities = AuthoritiesConstants.ADMIN)
+    void assertThatCachedAccountIsReloadedWhenTheTokenDisagrees() {
+        userRepository.saveAndFlush(user);
+        AdminUserDTO stale = new AdminUserDTO(user);
+        stale.setFirstName("stale");
+        cacheManager.getCache(UserService.ACCOUNTS_CACHE).put(DEFAULT_LOGIN, stale);
+
+        assertThat(userService.getAccount().orElseThrow().getFirstName()).isEqualTo(DEFAULT_FIRSTNAME);
+    }
 }
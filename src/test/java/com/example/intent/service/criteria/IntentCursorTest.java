@@ -0,0 +1,41 @@
+package com.example.intent.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.example.intent.service.dto.IntentDTO;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class IntentCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        IntentCursor cursor = new IntentCursor(Instant.parse("2025-07-23T07:31:53.123456Z"), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(IntentCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void afterUsesLastIntentKeyset() {
+        IntentDTO intent = new IntentDTO();
+        intent.setId(UUID.randomUUID());
+        intent.setCreatedTime(Instant.now());
+
+        IntentCursor cursor = IntentCursor.after(intent);
+
+        assertThat(cursor.getCreatedTime()).isEqualTo(intent.getCreatedTime());
+        assertThat(cursor.getId()).isEqualTo(intent.getId());
+    }
+
+    @Test
+    void decodeRejectsMalformedTokens() {
+        assertThatIllegalArgumentException().isThrownBy(() -> IntentCursor.decode("not base64!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> IntentCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThatIllegalArgumentException().isThrownBy(() -> IntentCursor.decode("eWVzdGVyZGF5fG5vdC1hLXV1aWQ"));
+    }
+}
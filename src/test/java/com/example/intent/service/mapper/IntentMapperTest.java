@@ -0,0 +1,85 @@
+package com.example.intent.service.mapper;
+
+import static com.example.intent.domain.IntentAsserts.*;
+import static com.example.intent.domain.IntentTestSamples.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.intent.domain.Store;
+import com.example.intent.repository.IntentSummary;
+import com.example.intent.service.dto.IntentDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntentMapperTest {
+
+    private IntentMapper intentMapper;
+
+    @BeforeEach
+    void setUp() {
+        intentMapper = new IntentMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getIntentSample1();
+        var actual = intentMapper.toEntity(intentMapper.toDto(expected));
+        assertIntentAllPropertiesEquals(expected, actual);
+    }
+
+    @Test
+    void shouldMapAssociationsToTheirIdOnly() {
+        var intent = getIntentSample1().store(new Store().id(UUID.randomUUID()).name("north"));
+
+        IntentDTO intentDTO = intentMapper.toDto(intent);
+
+        assertThat(intentDTO.getStore().getId()).isEqualTo(intent.getStore().getId());
+        assertThat(intentDTO.getStore().getName()).isNull();
+        assertThat(intentDTO.getArticle()).isNull();
+    }
+
+    @Test
+    void shouldConvertSummaryToDto() {
+        var summary = new IntentSummary(
+            UUID.randomUUID(),
+            new BigDecimal("1.50"),
+            Instant.now(),
+            "createdBy",
+            null,
+            null,
+            null,
+            UUID.randomUUID(),
+            null,
+            null,
+            "coupon",
+            null,
+            3L
+        );
+
+        IntentDTO intentDTO = intentMapper.toDto(summary);
+
+        assertThat(intentDTO.getId()).isEqualTo(summary.id());
+        assertThat(intentDTO.getCommission()).isEqualTo(summary.commission());
+        assertThat(intentDTO.getCreatedTime()).isEqualTo(summary.createdTime());
+        assertThat(intentDTO.getUser().getId()).isEqualTo(summary.userId());
+        assertThat(intentDTO.getCoupon().getId()).isEqualTo("coupon");
+        assertThat(intentDTO.getArticle()).isNull();
+        assertThat(intentDTO.getStore()).isNull();
+        assertThat(intentDTO.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldConvertDtoToSummary() {
+        IntentDTO intentDTO = intentMapper.toDto(getIntentSample1().store(new Store().id(UUID.randomUUID())));
+
+        IntentSummary summary = intentMapper.toSummary(intentDTO);
+
+        assertThat(summary.id()).isEqualTo(intentDTO.getId());
+        assertThat(summary.createdBy()).isEqualTo(intentDTO.getCreatedBy());
+        assertThat(summary.storeId()).isEqualTo(intentDTO.getStore().getId());
+        assertThat(summary.articleId()).isNull();
+        assertThat(summary.couponId()).isNull();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.intent.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.intent.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AuthenticationRateLimitFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuthenticationRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AuthenticationRateLimitFilter(
+            new StripedRateLimiter(3, Duration.ofMinutes(1), 1000),
+            new StripedRateLimiter(1, Duration.ofMinutes(1), 1000),
+            List.of(),
+            new SecurityMetersService(meterRegistry)
+        );
+    }
+
+    @Test
+    void refusesTheClientsBeyondTheirRate() throws Exception {
+        assertThat(authenticate("10.0.0.1", "{\"username\":\"a\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(authenticate("10.0.0.1", "{\"username\":\"b\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(authenticate("10.0.0.1", "{\"username\":\"c\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse response = authenticate("10.0.0.1", "{\"username\":\"d\"}");
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        assertThat(response.getContentAsString()).contains("\"status\":429");
+        assertThat(authenticate("10.0.0.2", "{\"username\":\"d\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(meterRegistry.get(SecurityMetersService.RATE_LIMITED_METER_NAME).tag("key", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesTheLoginsBeyondTheirRateWhateverTheClient() throws Exception {
+        assertThat(authenticate("10.0.0.1", "{\"username\":\"admin\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse response = authenticate("10.0.0.2", "{\"username\":\"ADMIN\"}");
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+        assertThat(meterRegistry.get(SecurityMetersService.RATE_LIMITED_METER_NAME).tag("key", "login").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keysOnTheForwardedClientAddress() throws Exception {
+        filter = new AuthenticationRateLimitFilter(
+            new StripedRateLimiter(1, Duration.ofMinutes(1), 1000),
+            new StripedRateLimiter(10, Duration.ofMinutes(1), 1000),
+            List.of("10.0.0.0/8", "192.168.1.1"),
+            new SecurityMetersService(meterRegistry)
+        );
+        // The balancer appends the address of its peer to what the client sent
+        assertThat(forwarded("203.0.113.1, 192.168.1.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(forwarded("198.51.100.7, 203.0.113.1, 192.168.1.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(forwarded("not an address, 203.0.113.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        assertThat(forwarded("203.0.113.2, 192.168.1.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(forwarded("10.0.0.9").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void keysADirectClientOnItsOwnAddress() throws Exception {
+        filter = new AuthenticationRateLimitFilter(
+            new StripedRateLimiter(1, Duration.ofMinutes(1), 1000),
+            new StripedRateLimiter(10, Duration.ofMinutes(1), 1000),
+            List.of("10.0.0.0/8"),
+            new SecurityMetersService(meterRegistry)
+        );
+        MockHttpServletRequest request = post(AuthenticationRateLimitFilter.AUTHENTICATE_PATH, "198.51.100.7", "{}");
+        request.addHeader("X-Forwarded-For", "203.0.113.1");
+        assertThat(filter.clientAddress(request)).isEqualTo("198.51.100.7");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // A new forwarded address with each request does not get the client a new bucket
+        request = post(AuthenticationRateLimitFilter.AUTHENTICATE_PATH, "198.51.100.7", "{}");
+        request.addHeader("X-Forwarded-For", "203.0.113.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void readsTheBodyOfAnUnknownEncodingAsUtf8() throws Exception {
+        MockHttpServletRequest request = post(AuthenticationRateLimitFilter.AUTHENTICATE_PATH, "10.0.0.1", "{\"username\":\"admin\"}");
+        request.setCharacterEncoding("not-a-charset");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest().getReader().readLine()).isEqualTo("{\"username\":\"admin\"}");
+        assertThat(authenticate("10.0.0.2", "{\"username\":\"admin\"}").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(AuthenticationRateLimitFilter.charset("x-unknown")).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void passesTheBodyOnUntouched() throws Exception {
+        String body = "{\"username\":\"admin\",\"password\":\"" + "x".repeat(10_000) + "\"}";
+        MockHttpServletRequest request = post(AuthenticationRateLimitFilter.AUTHENTICATE_PATH, "10.0.0.1", body);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void findsTheLoginOfEachEndpoint() {
+        assertThat(
+            AuthenticationRateLimitFilter.login(AuthenticationRateLimitFilter.REGISTER_PATH, "{\"login\":\"User\"}".getBytes(), null)
+        ).isEqualTo("user");
+        assertThat(
+            AuthenticationRateLimitFilter.login(AuthenticationRateLimitFilter.RESET_PASSWORD_INIT_PATH, " User@localhost ".getBytes(), null)
+        ).isEqualTo("user@localhost");
+        assertThat(
+            AuthenticationRateLimitFilter.login(AuthenticationRateLimitFilter.AUTHENTICATE_PATH, "not json".getBytes(), null)
+        ).isNull();
+    }
+
+    @Test
+    void ignoresTheOtherRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", AuthenticationRateLimitFilter.AUTHENTICATE_PATH);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    private MockHttpServletResponse authenticate(String address, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post(AuthenticationRateLimitFilter.AUTHENTICATE_PATH, address, body), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse forwarded(String forwardedFor) throws Exception {
+        // The load balancer is the peer
+        MockHttpServletRequest request = post(AuthenticationRateLimitFilter.AUTHENTICATE_PATH, "10.0.0.5", "{}");
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest post(String path, String address, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(address);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.intent.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class StripedRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+
+    @Test
+    void allowsABurstOfTheCapacity() {
+        StripedRateLimiter limiter = new StripedRateLimiter(3, Duration.ofSeconds(10), 1000, now::get);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("other")).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerPeriod() {
+        StripedRateLimiter limiter = new StripedRateLimiter(2, Duration.ofSeconds(10), 1000, now::get);
+        limiter.tryAcquire("client");
+        limiter.tryAcquire("client");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.SECONDS.toNanos(6));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    void doesNotAccumulateMoreThanTheCapacity() {
+        StripedRateLimiter limiter = new StripedRateLimiter(2, Duration.ofSeconds(10), 1000, now::get);
+        limiter.tryAcquire("client");
+
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    void keepsTheMostRecentlyUsedKeysOnly() {
+        StripedRateLimiter limiter = new StripedRateLimiter(1, Duration.ofSeconds(10), 64, now::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(64);
+    }
+}
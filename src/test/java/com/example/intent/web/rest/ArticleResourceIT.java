@@ -5,6 +5,7 @@ import static com.example.intent.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.example.intent.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -20,6 +21,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -48,6 +51,9 @@ class ArticleResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restArticleMockMvc;
 
@@ -78,6 +84,8 @@ class ArticleResourceIT {
     @BeforeEach
     void initTest() {
         article = createEntity();
+        // The listing is cached, and the tests write to the database without going through the REST resource
+        cacheManager.getCache(ArticleRepository.ALL_ARTICLES_CACHE).clear();
     }
 
     @AfterEach
@@ -158,6 +166,39 @@ class ArticleResourceIT {
             .andExpect(jsonPath("$.[*].price").value(hasItem(sameNumber(DEFAULT_PRICE))));
     }
 
+    @Test
+    @Transactional
+    void getAllArticlesIsRefreshedByWrites() throws Exception {
+        // Cache the listing
+        restArticleMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isOk());
+        assertThat(cacheManager.getCache(ArticleRepository.ALL_ARTICLES_CACHE).get(SimpleKey.EMPTY)).isNotNull();
+
+        var returnedArticle = om.readValue(
+            restArticleMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(article)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Article.class
+        );
+        insertedArticle = returnedArticle;
+        assertThat(cacheManager.getCache(ArticleRepository.ALL_ARTICLES_CACHE).get(SimpleKey.EMPTY)).isNull();
+
+        restArticleMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(returnedArticle.getId().toString())));
+
+        restArticleMockMvc.perform(delete(ENTITY_API_URL_ID, returnedArticle.getId())).andExpect(status().isNoContent());
+        insertedArticle = null;
+
+        restArticleMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(returnedArticle.getId().toString()))));
+    }
+
     @Test
     @Transactional
     void getArticle() throws Exception {
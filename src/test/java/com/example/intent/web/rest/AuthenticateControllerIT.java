@@ -1,5 +1,6 @@
 package com.example.intent.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -10,16 +11,22 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.intent.IntegrationTest;
+import com.example.intent.config.ApplicationProperties;
 import com.example.intent.domain.User;
 import com.example.intent.repository.UserRepository;
 import com.example.intent.web.rest.vm.LoginVM;
+import com.example.intent.web.rest.vm.RefreshTokenVM;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -41,6 +48,12 @@ class AuthenticateControllerIT {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Test
     @Transactional
     void testAuthorize() throws Exception {
@@ -60,6 +73,7 @@ class AuthenticateControllerIT {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id_token").isString())
             .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").doesNotExist())
             .andExpect(header().string("Authorization", not(nullValue())))
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
@@ -88,6 +102,52 @@ class AuthenticateControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testRefresh() throws Exception {
+        String refreshToken = authorize("user-jwt-controller-refresh");
+
+        refresh(refreshToken)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").value(not(refreshToken)))
+            .andExpect(header().string("Authorization", not(nullValue())));
+    }
+
+    @Test
+    @Transactional
+    void testRefreshedAccessTokensAreShortLived() throws Exception {
+        String refreshToken = authorize("user-jwt-controller-refresh-validity");
+        String accessToken = om
+            .readTree(refresh(refreshToken).andExpect(status().isOk()).andReturn().getResponse().getContentAsString())
+            .get("id_token")
+            .asText();
+
+        Jwt jwt = jwtDecoder.decode(accessToken);
+        assertThat(Duration.between(jwt.getIssuedAt(), jwt.getExpiresAt())).isEqualTo(
+            applicationProperties.getRefreshToken().getAccessTokenValidity()
+        );
+    }
+
+    @Test
+    @Transactional
+    void testRefreshTokenReuseRevokesItsFamily() throws Exception {
+        String refreshToken = authorize("user-jwt-controller-refresh-reuse");
+        String rotated = om
+            .readTree(refresh(refreshToken).andExpect(status().isOk()).andReturn().getResponse().getContentAsString())
+            .get("refresh_token")
+            .asText();
+
+        refresh(refreshToken).andExpect(status().isUnauthorized()).andExpect(jsonPath("$.id_token").doesNotExist());
+        refresh(rotated).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRefreshFails() throws Exception {
+        refresh("unknown-refresh-token").andExpect(status().isUnauthorized()).andExpect(header().doesNotExist("Authorization"));
+    }
+
     @Test
     void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
@@ -99,4 +159,34 @@ class AuthenticateControllerIT {
             .andExpect(jsonPath("$.id_token").doesNotExist())
             .andExpect(header().doesNotExist("Authorization"));
     }
+
+    private String authorize(String username) throws Exception {
+        User user = new User();
+        user.setLogin(username);
+        user.setEmail(username + "@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername(username);
+        login.setPassword("test");
+        login.setRefreshable(true);
+        String response = mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return om.readTree(response).get("refresh_token").asText();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        RefreshTokenVM refresh = new RefreshTokenVM();
+        refresh.setRefreshToken(refreshToken);
+        return mockMvc.perform(
+            post("/api/authenticate/refresh").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(refresh))
+        );
+    }
 }
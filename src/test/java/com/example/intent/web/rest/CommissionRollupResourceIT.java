@@ -0,0 +1,180 @@
+package com.example.intent.web.rest;
+
+import static com.example.intent.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.example.intent.IntegrationTest;
+import com.example.intent.domain.Coupon;
+import com.example.intent.domain.Intent;
+import com.example.intent.domain.Store;
+import com.example.intent.repository.IntentRepository;
+import com.example.intent.service.CommissionRollupFoldService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CommissionRollupResource} REST controller, and for the database triggers
+ * recording the deltas folded into the rollups; the deltas of the test transaction are folded in it.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CommissionRollupResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/commission-rollups";
+
+    private static final Instant DAY = Instant.parse("2031-03-14T00:00:00Z");
+
+    @Autowired
+    private IntentRepository intentRepository;
+
+    @Autowired
+    private CommissionRollupFoldService commissionRollupFoldService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc restCommissionRollupMockMvc;
+
+    private Store store;
+
+    private Coupon coupon;
+
+    @BeforeEach
+    void initTest() {
+        store = StoreResourceIT.createEntity();
+        em.persist(store);
+        coupon = CouponResourceIT.createEntity();
+        em.persist(coupon);
+    }
+
+    @Test
+    @Transactional
+    void rollsUpCreatedIntentsPerStoreAndDay() throws Exception {
+        intentRepository.save(createIntent("10.00", DAY.plusSeconds(3600)));
+        intentRepository.save(createIntent("2.50", DAY.plusSeconds(7200)));
+        intentRepository.save(createIntent("1.25", DAY.plusSeconds(86400)));
+        em.flush();
+        commissionRollupFoldService.fold();
+
+        restCommissionRollupMockMvc
+            .perform(get(storeRollupsUrl("DAY")))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$[0].bucketStart").value(DAY.toString()))
+            .andExpect(jsonPath("$[0].totalCommission").value(sameNumber(new BigDecimal("12.50"))))
+            .andExpect(jsonPath("$[0].intentCount").value(2))
+            .andExpect(jsonPath("$[1].totalCommission").value(sameNumber(new BigDecimal("1.25"))))
+            .andExpect(jsonPath("$[1].intentCount").value(1));
+
+        restCommissionRollupMockMvc
+            .perform(get(storeRollupsUrl("HOUR")))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$[0].bucketStart").value(DAY.plusSeconds(3600).toString()))
+            .andExpect(jsonPath("$[0].totalCommission").value(sameNumber(new BigDecimal("10.00"))));
+
+        restCommissionRollupMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL + "?dimension=COUPON_TYPE&key={key}&from={from}&to={to}",
+                    coupon.getType().name(),
+                    DAY,
+                    DAY.plusSeconds(2 * 86400)
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].totalCommission").value(sameNumber(new BigDecimal("12.50"))));
+    }
+
+    @Test
+    @Transactional
+    void followsUpdatesAndDeletes() throws Exception {
+        Intent intent = intentRepository.save(createIntent("10.00", DAY.plusSeconds(3600)));
+        intentRepository.save(createIntent("5.00", DAY.plusSeconds(3600)));
+        em.flush();
+
+        intent.setCommission(new BigDecimal("4.00"));
+        em.flush();
+        commissionRollupFoldService.fold();
+        restCommissionRollupMockMvc
+            .perform(get(storeRollupsUrl("DAY")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].totalCommission").value(sameNumber(new BigDecimal("9.00"))))
+            .andExpect(jsonPath("$[0].intentCount").value(2));
+
+        intentRepository.delete(intent);
+        em.flush();
+        commissionRollupFoldService.fold();
+        restCommissionRollupMockMvc
+            .perform(get(storeRollupsUrl("DAY")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].totalCommission").value(sameNumber(new BigDecimal("5.00"))))
+            .andExpect(jsonPath("$[0].intentCount").value(1));
+    }
+
+    @Test
+    @Transactional
+    void recordsOneDeltaPerKeyAndStatement() throws Exception {
+        intentRepository.save(createIntent("10.00", DAY.plusSeconds(3600)));
+        intentRepository.save(createIntent("5.00", DAY.plusSeconds(7200)));
+        em.flush();
+        commissionRollupFoldService.fold();
+
+        jdbcTemplate.update("update intent set commission = commission + 1 where store_id = ?", store.getId());
+
+        Integer deltas = jdbcTemplate.queryForObject(
+            "select count(*) from commission_rollup_delta where dimension = 'STORE' and granularity = 'DAY' and dimension_key = ?",
+            Integer.class,
+            store.getId().toString()
+        );
+        assertThat(deltas).isEqualTo(1);
+        assertThat(commissionRollupFoldService.fold()).isPositive();
+        restCommissionRollupMockMvc
+            .perform(get(storeRollupsUrl("DAY")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].totalCommission").value(sameNumber(new BigDecimal("17.00"))))
+            .andExpect(jsonPath("$[0].intentCount").value(2));
+    }
+
+    @Test
+    @Transactional
+    void rejectsAnEmptyRange() throws Exception {
+        restCommissionRollupMockMvc
+            .perform(get(ENTITY_API_URL + "?dimension=STORE&from={from}&to={to}", DAY, DAY))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Intent createIntent(String commission, Instant createdTime) {
+        return IntentResourceIT.createEntity().commission(new BigDecimal(commission)).createdTime(createdTime).store(store).coupon(coupon);
+    }
+
+    private String storeRollupsUrl(String granularity) {
+        return (
+            ENTITY_API_URL +
+            "?dimension=STORE&granularity=" +
+            granularity +
+            "&key=" +
+            store.getId() +
+            "&from=" +
+            DAY +
+            "&to=" +
+            DAY.plusSeconds(2 * 86400)
+        );
+    }
+}
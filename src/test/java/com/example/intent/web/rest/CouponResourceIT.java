@@ -21,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -55,6 +56,9 @@ class CouponResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restCouponMockMvc;
 
@@ -85,6 +89,8 @@ class CouponResourceIT {
     @BeforeEach
     void initTest() {
         coupon = createEntity();
+        // The listing is cached, and the tests write to the database without going through the REST resource
+        cacheManager.getCache(CouponRepository.ALL_COUPONS_CACHE).clear();
     }
 
     @AfterEach
@@ -4,28 +4,52 @@ import static com.example.intent.domain.IntentAsserts.*;
 import static com.example.intent.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.example.intent.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.example.intent.IntegrationTest;
+import com.example.intent.domain.Article;
+import com.example.intent.domain.Coupon;
 import com.example.intent.domain.Intent;
+import com.example.intent.domain.RDCheckout;
+import com.example.intent.domain.Store;
+import com.example.intent.domain.StoreManager;
+import com.example.intent.domain.User;
 import com.example.intent.repository.IntentRepository;
 import com.example.intent.repository.UserRepository;
+import com.example.intent.service.dto.IntentDTO;
+import com.example.intent.service.mapper.IntentMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -54,6 +78,8 @@ class IntentResourceIT {
     private static final String ENTITY_API_URL = "/api/intents";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>; rel=\"next\"");
+
     @Autowired
     private ObjectMapper om;
 
@@ -63,6 +89,9 @@ class IntentResourceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private IntentMapper intentMapper;
+
     @Autowired
     private EntityManager em;
 
@@ -121,18 +150,20 @@ class IntentResourceIT {
     void createIntent() throws Exception {
         long databaseSizeBeforeCreate = getRepositoryCount();
         // Create the Intent
-        var returnedIntent = om.readValue(
+        IntentDTO intentDTO = intentMapper.toDto(intent);
+        var returnedIntentDTO = om.readValue(
             restIntentMockMvc
-                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intent)))
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intentDTO)))
                 .andExpect(status().isCreated())
                 .andReturn()
                 .getResponse()
                 .getContentAsString(),
-            Intent.class
+            IntentDTO.class
         );
 
         // Validate the Intent in the database
         assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        var returnedIntent = intentMapper.toEntity(returnedIntentDTO);
         assertIntentUpdatableFieldsEquals(returnedIntent, getPersistedIntent(returnedIntent));
 
         insertedIntent = returnedIntent;
@@ -147,14 +178,52 @@ class IntentResourceIT {
         long databaseSizeBeforeCreate = getRepositoryCount();
 
         // An entity with an existing ID cannot be created, so this API call must fail
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intent)))
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intentDTO)))
             .andExpect(status().isBadRequest());
 
         // Validate the Intent in the database
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void createIntentsInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        // One valid intent, one failing validation, one refused by the database, one valid
+        List<IntentDTO> intents = intentMapper.toDto(
+            List.of(
+                createEntity(),
+                createEntity().createdTime(null),
+                createEntity().store(new Store().id(UUID.randomUUID())),
+                createEntity()
+            )
+        );
+
+        String response = restIntentMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intents)))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.invalid").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.items[1].status").value("INVALID"))
+            .andExpect(jsonPath("$.items[2].status").value("FAILED"))
+            .andExpect(jsonPath("$.items[2].errors[0]").value(containsString("fk_intent__store_id")))
+            .andExpect(jsonPath("$.items[3].status").value("CREATED"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // The bulk endpoint commits its own transactions
+        List<String> createdIds = JsonPath.read(response, "$.items[?(@.status == 'CREATED')].id");
+        try {
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        } finally {
+            intentRepository.deleteAllById(createdIds.stream().map(UUID::fromString).toList());
+        }
+    }
+
     @Test
     @Transactional
     void checkCreatedTimeIsRequired() throws Exception {
@@ -164,8 +233,9 @@ class IntentResourceIT {
 
         // Create the Intent, which fails.
 
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intent)))
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intentDTO)))
             .andExpect(status().isBadRequest());
 
         assertSameRepositoryCount(databaseSizeBeforeTest);
@@ -190,6 +260,91 @@ class IntentResourceIT {
             .andExpect(jsonPath("$.[*].updatedBy").value(hasItem(DEFAULT_UPDATED_BY)));
     }
 
+    @Test
+    @Transactional
+    void getAllIntentsIsKeysetPaginated() throws Exception {
+        // Initialize the database with intents newer than any other one
+        Instant base = Instant.parse("2100-01-01T00:00:00Z");
+        Intent oldest = intentRepository.saveAndFlush(createEntity().createdTime(base));
+        Intent middle = intentRepository.saveAndFlush(createEntity().createdTime(base.plusSeconds(1)));
+        Intent newest = intentRepository.saveAndFlush(createEntity().createdTime(base.plusSeconds(2)));
+
+        // Get the first slice, newest first
+        MvcResult firstSlice = restIntentMockMvc
+            .perform(get(ENTITY_API_URL + "?createdTime.greaterThanOrEqual=" + base + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(newest.getId().toString()))
+            .andExpect(jsonPath("$[1].id").value(middle.getId().toString()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn();
+
+        // Follow the next link
+        restIntentMockMvc
+            .perform(get(new URI(nextLink(firstSlice))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(oldest.getId().toString()))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    @Transactional
+    void getAllIntentsByStoreIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedIntent = intentRepository.saveAndFlush(intent);
+
+        restIntentMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + intent.getId() + "&storeId.specified=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(intent.getId().toString())));
+
+        restIntentMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + intent.getId() + "&storeId.equals=" + UUID.randomUUID()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllIntentsWithInvalidCursor() throws Exception {
+        restIntentMockMvc.perform(get(ENTITY_API_URL + "?cursor=invalid!")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportIntentsAsNdjson() throws Exception {
+        // Initialize the database
+        insertedIntent = intentRepository.saveAndFlush(intent);
+
+        restIntentMockMvc
+            .perform(get(ENTITY_API_URL + "/export?to=" + DEFAULT_CREATED_TIME.plusSeconds(1)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("intents.ndjson")))
+            .andExpect(content().string(containsString("\"id\":\"" + intent.getId() + "\"")));
+    }
+
+    @Test
+    @Transactional
+    void exportIntentsAsCsv() throws Exception {
+        // Initialize the database
+        insertedIntent = intentRepository.saveAndFlush(intent);
+
+        restIntentMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv&from=" + DEFAULT_CREATED_TIME + "&to=" + DEFAULT_CREATED_TIME.plusSeconds(1)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string(startsWith("id,commission,createdTime,")))
+            .andExpect(content().string(containsString(intent.getId() + ",1.00," + DEFAULT_CREATED_TIME + "," + DEFAULT_CREATED_BY)));
+    }
+
+    @Test
+    @Transactional
+    void exportIntentsWithUnsupportedFormat() throws Exception {
+        restIntentMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getIntent() throws Exception {
@@ -206,7 +361,9 @@ class IntentResourceIT {
             .andExpect(jsonPath("$.createdTime").value(DEFAULT_CREATED_TIME.toString()))
             .andExpect(jsonPath("$.createdBy").value(DEFAULT_CREATED_BY))
             .andExpect(jsonPath("$.updatedTime").value(DEFAULT_UPDATED_TIME.toString()))
-            .andExpect(jsonPath("$.updatedBy").value(DEFAULT_UPDATED_BY));
+            .andExpect(jsonPath("$.updatedBy").value(DEFAULT_UPDATED_BY))
+            .andExpect(jsonPath("$.version").value(0))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
     }
 
     @Test
@@ -216,6 +373,90 @@ class IntentResourceIT {
         restIntentMockMvc.perform(get(ENTITY_API_URL_ID, UUID.randomUUID().toString())).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getIntentWithFullProfileInOneStatement() throws Exception {
+        // Initialize the database
+        insertedIntent = intentRepository.saveAndFlush(createEntityWithAllAssociations());
+        em.clear();
+
+        Statistics statistics = startCountingStatements();
+        try {
+            restIntentMockMvc
+                .perform(get(ENTITY_API_URL_ID + "?profile=full", insertedIntent.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.article.price").value(sameNumber(insertedIntent.getArticle().getPrice())))
+                .andExpect(jsonPath("$.user.login").value(insertedIntent.getUser().getLogin()))
+                .andExpect(jsonPath("$.storeManager.name").value(insertedIntent.getStoreManager().getName()))
+                .andExpect(jsonPath("$.store.name").value(insertedIntent.getStore().getName()))
+                .andExpect(jsonPath("$.coupon.text").value(insertedIntent.getCoupon().getText()))
+                .andExpect(jsonPath("$.rdCheckout.status").value(insertedIntent.getRdCheckout().getStatus()));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllIntentsWithFullProfileInOneStatement() throws Exception {
+        // Initialize the database
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(intentRepository.save(createEntityWithAllAssociations()).getId().toString());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = startCountingStatements();
+        try {
+            restIntentMockMvc
+                .perform(get(ENTITY_API_URL + "?profile=full&size=3&id.in=" + String.join(",", ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[*].store.name").value(everyItem(notNullValue())))
+                .andExpect(jsonPath("$[*].user.login").value(everyItem(notNullValue())));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllIntentsWithSummaryProfileDoesNotLoadAssociations() throws Exception {
+        // Initialize the database
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(intentRepository.save(createEntityWithAllAssociations()).getId().toString());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = startCountingStatements();
+        try {
+            restIntentMockMvc
+                .perform(get(ENTITY_API_URL + "?size=3&id.in=" + String.join(",", ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[*].store.id").value(everyItem(notNullValue())))
+                .andExpect(jsonPath("$[*].store.name").value(everyItem(nullValue())));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getIntentWithUnknownProfile() throws Exception {
+        restIntentMockMvc.perform(get(ENTITY_API_URL_ID + "?profile=everything", UUID.randomUUID())).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void putExistingIntent() throws Exception {
@@ -235,19 +476,45 @@ class IntentResourceIT {
             .updatedTime(UPDATED_UPDATED_TIME)
             .updatedBy(UPDATED_UPDATED_BY);
 
+        IntentDTO updatedIntentDTO = intentMapper.toDto(updatedIntent);
         restIntentMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, updatedIntent.getId())
                     .contentType(MediaType.APPLICATION_JSON)
-                    .content(om.writeValueAsBytes(updatedIntent))
+                    .content(om.writeValueAsBytes(updatedIntentDTO))
             )
-            .andExpect(status().isOk());
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
 
         // Validate the Intent in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertPersistedIntentToMatchAllProperties(updatedIntent);
     }
 
+    @Test
+    @Transactional
+    void putIntentWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        insertedIntent = intentRepository.saveAndFlush(intent);
+        em.detach(intent);
+
+        IntentDTO updatedIntentDTO = intentMapper.toDto(intent);
+        updatedIntentDTO.setCreatedBy(UPDATED_CREATED_BY);
+        restIntentMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, intent.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"7\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedIntentDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Intent in the database
+        Intent persistedIntent = getPersistedIntent(intent);
+        assertThat(persistedIntent.getCreatedBy()).isEqualTo(DEFAULT_CREATED_BY);
+        assertThat(persistedIntent.getVersion()).isZero();
+    }
+
     @Test
     @Transactional
     void putNonExistingIntent() throws Exception {
@@ -255,8 +522,11 @@ class IntentResourceIT {
         intent.setId(UUID.randomUUID());
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
-            .perform(put(ENTITY_API_URL_ID, intent.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intent)))
+            .perform(
+                put(ENTITY_API_URL_ID, intentDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intentDTO))
+            )
             .andExpect(status().isBadRequest());
 
         // Validate the Intent in the database
@@ -270,9 +540,10 @@ class IntentResourceIT {
         intent.setId(UUID.randomUUID());
 
         // If url ID doesn't match entity ID, it will throw BadRequestAlertException
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
             .perform(
-                put(ENTITY_API_URL_ID, UUID.randomUUID()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intent))
+                put(ENTITY_API_URL_ID, UUID.randomUUID()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intentDTO))
             )
             .andExpect(status().isBadRequest());
 
@@ -287,8 +558,9 @@ class IntentResourceIT {
         intent.setId(UUID.randomUUID());
 
         // If url ID doesn't match entity ID, it will throw BadRequestAlertException
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
-            .perform(put(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intent)))
+            .perform(put(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(intentDTO)))
             .andExpect(status().isMethodNotAllowed());
 
         // Validate the Intent in the database
@@ -361,6 +633,64 @@ class IntentResourceIT {
         assertIntentUpdatableFieldsEquals(partialUpdatedIntent, getPersistedIntent(partialUpdatedIntent));
     }
 
+    @Test
+    @Transactional
+    void patchIntentWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedIntent = intentRepository.saveAndFlush(intent);
+
+        IntentDTO partialUpdatedIntentDTO = new IntentDTO();
+        partialUpdatedIntentDTO.setId(intent.getId());
+        partialUpdatedIntentDTO.setUpdatedBy(UPDATED_UPDATED_BY);
+
+        restIntentMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, intent.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedIntentDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1))
+            .andExpect(jsonPath("$.createdBy").value(DEFAULT_CREATED_BY))
+            .andExpect(jsonPath("$.updatedBy").value(UPDATED_UPDATED_BY));
+
+        // The same version cannot be used twice
+        restIntentMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, intent.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedIntentDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        Intent persistedIntent = getPersistedIntent(intent);
+        assertThat(persistedIntent.getUpdatedBy()).isEqualTo(UPDATED_UPDATED_BY);
+        assertThat(persistedIntent.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @Transactional
+    void patchIntentWithWeakIfMatch() throws Exception {
+        // Initialize the database
+        insertedIntent = intentRepository.saveAndFlush(intent);
+
+        IntentDTO partialUpdatedIntentDTO = new IntentDTO();
+        partialUpdatedIntentDTO.setId(intent.getId());
+        partialUpdatedIntentDTO.setUpdatedBy(UPDATED_UPDATED_BY);
+
+        restIntentMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, intent.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedIntentDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @Transactional
     void patchNonExistingIntent() throws Exception {
@@ -368,9 +698,12 @@ class IntentResourceIT {
         intent.setId(UUID.randomUUID());
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, intent.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(intent))
+                patch(ENTITY_API_URL_ID, intentDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(intentDTO))
             )
             .andExpect(status().isBadRequest());
 
@@ -385,11 +718,12 @@ class IntentResourceIT {
         intent.setId(UUID.randomUUID());
 
         // If url ID doesn't match entity ID, it will throw BadRequestAlertException
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, UUID.randomUUID())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(intent))
+                    .content(om.writeValueAsBytes(intentDTO))
             )
             .andExpect(status().isBadRequest());
 
@@ -404,8 +738,9 @@ class IntentResourceIT {
         intent.setId(UUID.randomUUID());
 
         // If url ID doesn't match entity ID, it will throw BadRequestAlertException
+        IntentDTO intentDTO = intentMapper.toDto(intent);
         restIntentMockMvc
-            .perform(patch(ENTITY_API_URL).contentType("application/merge-patch+json").content(om.writeValueAsBytes(intent)))
+            .perform(patch(ENTITY_API_URL).contentType("application/merge-patch+json").content(om.writeValueAsBytes(intentDTO)))
             .andExpect(status().isMethodNotAllowed());
 
         // Validate the Intent in the database
@@ -429,6 +764,35 @@ class IntentResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    private Intent createEntityWithAllAssociations() {
+        Article article = ArticleResourceIT.createEntity();
+        em.persist(article);
+        User user = UserResourceIT.createEntity();
+        em.persist(user);
+        StoreManager storeManager = StoreManagerResourceIT.createEntity();
+        em.persist(storeManager);
+        Store store = StoreResourceIT.createEntity();
+        em.persist(store);
+        Coupon coupon = CouponResourceIT.createEntity();
+        em.persist(coupon);
+        RDCheckout rdCheckout = RDCheckoutResourceIT.createEntity();
+        em.persist(rdCheckout);
+        return createEntity().article(article).user(user).storeManager(storeManager).store(store).coupon(coupon).rdCheckout(rdCheckout);
+    }
+
+    private Statistics startCountingStatements() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        return statistics;
+    }
+
+    private static String nextLink(MvcResult result) {
+        Matcher matcher = NEXT_LINK.matcher(result.getResponse().getHeader(HttpHeaders.LINK));
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+
     protected long getRepositoryCount() {
         return intentRepository.count();
     }
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -46,6 +47,9 @@ class StoreManagerResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restStoreManagerMockMvc;
 
@@ -76,6 +80,8 @@ class StoreManagerResourceIT {
     @BeforeEach
     void initTest() {
         storeManager = createEntity();
+        // The listing is cached, and the tests write to the database without going through the REST resource
+        cacheManager.getCache(StoreManagerRepository.ALL_STORE_MANAGERS_CACHE).clear();
     }
 
     @AfterEach